@@ -18,14 +18,23 @@ package com.gokhankanber.breakout;
 
 import android.content.res.Resources;
 import com.badlogic.gdx.Game;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.gokhankanber.breakout.metrics.HitchDetector;
+import com.gokhankanber.breakout.metrics.Trace;
 import com.gokhankanber.breakout.provider.Asset;
+import com.gokhankanber.breakout.model.Clock;
+import com.gokhankanber.breakout.model.StateBuffer;
 import com.gokhankanber.breakout.provider.Config;
+import com.gokhankanber.breakout.provider.SnapshotStore;
+import com.gokhankanber.breakout.view.GameScreen;
 import com.gokhankanber.breakout.view.MainMenuScreen;
 
 public class Breakout extends Game
 {
     private Asset asset;
     private Resources resources;
+    private final Clock clock = new Clock();
 
     public Breakout(Resources resources)
     {
@@ -37,7 +46,31 @@ public class Breakout extends Game
     {
         asset = Asset.get();
         Config.load();
-        setScreen(new MainMenuScreen(this));
+
+        // Frames longer than budget of vsync intervals are hitches.
+        int refreshRate = Gdx.graphics.getDisplayMode().refreshRate;
+        HitchDetector.get().setBudget((long) (Config.HITCH_BUDGET * 1e9 / (refreshRate > 0 ? refreshRate : 60)));
+
+        // Go straight back into the game, if it was running when the process was killed.
+        StateBuffer snapshot = SnapshotStore.get().load();
+
+        if(snapshot != null)
+        {
+            setScreen(new GameScreen(this, snapshot));
+        }
+        else
+        {
+            setScreen(new MainMenuScreen(this));
+        }
+    }
+
+    @Override
+    public void setScreen(Screen screen)
+    {
+        // Hides the current screen, and shows and inits the new one.
+        Trace.get().begin(Trace.Section.SET_SCREEN);
+        super.setScreen(screen);
+        Trace.get().end(Trace.Section.SET_SCREEN);
     }
 
     @Override
@@ -53,6 +86,14 @@ public class Breakout extends Game
         return asset;
     }
 
+    /**
+     * Returns game clock, whose time scale or fake time can be set for debugging.
+     */
+    public Clock getClock()
+    {
+        return clock;
+    }
+
     public Resources getResources()
     {
         return resources;
@@ -50,6 +50,11 @@ public abstract class BaseController implements IBaseController
         batch.setProjectionMatrix(camera.combined);
     }
 
+    @Override
+    public void pause()
+    {
+    }
+
     @Override
     public void release()
     {
@@ -16,10 +16,13 @@
 
 package com.gokhankanber.breakout.controller;
 
+import com.gokhankanber.breakout.model.Clock;
+
 public interface IBaseController
 {
     void init();
-    void update(float delta);
+    void update(Clock clock);
     void draw(float delta);
+    void pause();
     void release();
 }
@@ -16,312 +16,80 @@
 
 package com.gokhankanber.breakout.controller.game;
 
+/**
+ * Builds score, balls, and player number of the scoreboard from a bitmask table of digits.
+ * A digit is 3 x 8 blocks, and digits are one block apart.
+ * Numbers are split into digits arithmetically into a reused array, so a build does not allocate.
+ */
 public class Board
 {
-    private boolean[][] numberBoard;
-    private int x;
+    // Digits of the largest int.
+    public static final int MAX_DIGITS = 10;
+
+    // Blocks of digits 0 to 9: bit (column * 8 + row) is set if the block is drawn. Row 0 is the top row.
+    private static final int[] DIGIT_MASKS = {
+            0xffc3ff, 0xff0000, 0xdfdbfb, 0xffdbc3, 0xff181f,
+            0xfbdbdf, 0xfbdbff, 0xff0303, 0xffdbff, 0xff1b1f
+    };
+
+    private final int height = 8;
+    private final int[] digits = new int[MAX_DIGITS];
+    private int length;
 
     /**
-     * Builds score, balls, and player number in the board.
-     * Contains number data as a boolean array.
+     * Builds a number, whose block columns are read by {@link #getColumn(int)}.
+     * @param number is a non-negative number.
+     * @param digits is minimum number of digits, padded with zeros.
+     * @return number of digits.
      */
-    public boolean[][] buildNumber(int number, int digits)
+    public int buildNumber(int number, int digits)
     {
-        String value = String.valueOf(number);
-        int length = value.length();
-        int space = digits - 1;
-        int width = digits * 3 + space;
-        int height = 8;
+        length = 1;
 
-        for(int i = 0; i < digits - length; i++)
+        for(int value = number / 10; value > 0; value /= 10)
         {
-            value = "0" + value;
+            length++;
         }
 
-        numberBoard = new boolean[width][height];
-        x = 0;
+        length = Math.min(Math.max(length, digits), MAX_DIGITS);
 
-        for(char c : value.toCharArray())
+        // Splits digits from right to left.
+        for(int i = length - 1; i >= 0; i--)
         {
-            switch(c)
-            {
-                case '0':
-                    buildZero();
-                    break;
-                case '1':
-                    buildOne();
-                    break;
-                case '2':
-                    buildTwo();
-                    break;
-                case '3':
-                    buildThree();
-                    break;
-                case '4':
-                    buildFour();
-                    break;
-                case '5':
-                    buildFive();
-                    break;
-                case '6':
-                    buildSix();
-                    break;
-                case '7':
-                    buildSeven();
-                    break;
-                case '8':
-                    buildEight();
-                    break;
-                case '9':
-                    buildNine();
-                    break;
-            }
-
-            x += 3;
-
-            if(space > 0)
-            {
-                x++;
-                space--;
-            }
+            this.digits[i] = number % 10;
+            number /= 10;
         }
 
-        return numberBoard;
+        return length;
     }
 
-    public boolean[][] buildNumber(int number)
+    public int buildNumber(int number)
     {
         return buildNumber(number, 1);
     }
 
-    public int getSize()
-    {
-        int size = 0;
-
-        for(boolean[] column : numberBoard)
-        {
-            for(boolean row: column)
-            {
-                if(row)
-                {
-                    size++;
-                }
-            }
-        }
-
-        return size;
-    }
-
-    private void buildZero()
-    {
-        numberBoard[x][0] = true;
-        numberBoard[x][1] = true;
-        numberBoard[x][2] = true;
-        numberBoard[x][3] = true;
-        numberBoard[x][4] = true;
-        numberBoard[x][5] = true;
-        numberBoard[x][6] = true;
-        numberBoard[x][7] = true;
-        numberBoard[x+1][0] = true;
-        numberBoard[x+1][1] = true;
-        numberBoard[x+1][6] = true;
-        numberBoard[x+1][7] = true;
-        numberBoard[x+2][0] = true;
-        numberBoard[x+2][1] = true;
-        numberBoard[x+2][2] = true;
-        numberBoard[x+2][3] = true;
-        numberBoard[x+2][4] = true;
-        numberBoard[x+2][5] = true;
-        numberBoard[x+2][6] = true;
-        numberBoard[x+2][7] = true;
-    }
-
-    private void buildOne()
-    {
-        numberBoard[x+2][0] = true;
-        numberBoard[x+2][1] = true;
-        numberBoard[x+2][2] = true;
-        numberBoard[x+2][3] = true;
-        numberBoard[x+2][4] = true;
-        numberBoard[x+2][5] = true;
-        numberBoard[x+2][6] = true;
-        numberBoard[x+2][7] = true;
-    }
-
-    private void buildTwo()
-    {
-        numberBoard[x][0] = true;
-        numberBoard[x][1] = true;
-        numberBoard[x][3] = true;
-        numberBoard[x][4] = true;
-        numberBoard[x][5] = true;
-        numberBoard[x][6] = true;
-        numberBoard[x][7] = true;
-        numberBoard[x+1][0] = true;
-        numberBoard[x+1][1] = true;
-        numberBoard[x+1][3] = true;
-        numberBoard[x+1][4] = true;
-        numberBoard[x+1][6] = true;
-        numberBoard[x+1][7] = true;
-        numberBoard[x+2][0] = true;
-        numberBoard[x+2][1] = true;
-        numberBoard[x+2][2] = true;
-        numberBoard[x+2][3] = true;
-        numberBoard[x+2][4] = true;
-        numberBoard[x+2][6] = true;
-        numberBoard[x+2][7] = true;
-    }
-
-    private void buildThree()
-    {
-        numberBoard[x][0] = true;
-        numberBoard[x][1] = true;
-        numberBoard[x][6] = true;
-        numberBoard[x][7] = true;
-        numberBoard[x+1][0] = true;
-        numberBoard[x+1][1] = true;
-        numberBoard[x+1][3] = true;
-        numberBoard[x+1][4] = true;
-        numberBoard[x+1][6] = true;
-        numberBoard[x+1][7] = true;
-        numberBoard[x+2][0] = true;
-        numberBoard[x+2][1] = true;
-        numberBoard[x+2][2] = true;
-        numberBoard[x+2][3] = true;
-        numberBoard[x+2][4] = true;
-        numberBoard[x+2][5] = true;
-        numberBoard[x+2][6] = true;
-        numberBoard[x+2][7] = true;
-    }
-
-    private void buildFour()
-    {
-        numberBoard[x][0] = true;
-        numberBoard[x][1] = true;
-        numberBoard[x][2] = true;
-        numberBoard[x][3] = true;
-        numberBoard[x][4] = true;
-        numberBoard[x+1][3] = true;
-        numberBoard[x+1][4] = true;
-        numberBoard[x+2][0] = true;
-        numberBoard[x+2][1] = true;
-        numberBoard[x+2][2] = true;
-        numberBoard[x+2][3] = true;
-        numberBoard[x+2][4] = true;
-        numberBoard[x+2][5] = true;
-        numberBoard[x+2][6] = true;
-        numberBoard[x+2][7] = true;
-    }
-
-    private void buildFive()
+    /**
+     * Returns blocks of a column of the last built number.
+     * @param column is block column from the left, less than {@link #getWidth()}.
+     * @return bits of the column, bit r is set if the block of row r is drawn.
+     */
+    public int getColumn(int column)
     {
-        numberBoard[x][0] = true;
-        numberBoard[x][1] = true;
-        numberBoard[x][2] = true;
-        numberBoard[x][3] = true;
-        numberBoard[x][4] = true;
-        numberBoard[x][6] = true;
-        numberBoard[x][7] = true;
-        numberBoard[x+1][0] = true;
-        numberBoard[x+1][1] = true;
-        numberBoard[x+1][3] = true;
-        numberBoard[x+1][4] = true;
-        numberBoard[x+1][6] = true;
-        numberBoard[x+1][7] = true;
-        numberBoard[x+2][0] = true;
-        numberBoard[x+2][1] = true;
-        numberBoard[x+2][3] = true;
-        numberBoard[x+2][4] = true;
-        numberBoard[x+2][5] = true;
-        numberBoard[x+2][6] = true;
-        numberBoard[x+2][7] = true;
-    }
+        int x = column & 3;
 
-    private void buildSix()
-    {
-        numberBoard[x][0] = true;
-        numberBoard[x][1] = true;
-        numberBoard[x][2] = true;
-        numberBoard[x][3] = true;
-        numberBoard[x][4] = true;
-        numberBoard[x][5] = true;
-        numberBoard[x][6] = true;
-        numberBoard[x][7] = true;
-        numberBoard[x+1][0] = true;
-        numberBoard[x+1][1] = true;
-        numberBoard[x+1][3] = true;
-        numberBoard[x+1][4] = true;
-        numberBoard[x+1][6] = true;
-        numberBoard[x+1][7] = true;
-        numberBoard[x+2][0] = true;
-        numberBoard[x+2][1] = true;
-        numberBoard[x+2][3] = true;
-        numberBoard[x+2][4] = true;
-        numberBoard[x+2][5] = true;
-        numberBoard[x+2][6] = true;
-        numberBoard[x+2][7] = true;
+        return (x == 3 ? 0 : (DIGIT_MASKS[digits[column >> 2]] >>> (x * 8)) & 0xff);
     }
 
-    private void buildSeven()
-    {
-        numberBoard[x][0] = true;
-        numberBoard[x][1] = true;
-        numberBoard[x+1][0] = true;
-        numberBoard[x+1][1] = true;
-        numberBoard[x+2][0] = true;
-        numberBoard[x+2][1] = true;
-        numberBoard[x+2][2] = true;
-        numberBoard[x+2][3] = true;
-        numberBoard[x+2][4] = true;
-        numberBoard[x+2][5] = true;
-        numberBoard[x+2][6] = true;
-        numberBoard[x+2][7] = true;
-    }
-
-    private void buildEight()
+    /**
+     * Returns width of the last built number in blocks.
+     */
+    public int getWidth()
     {
-        numberBoard[x][0] = true;
-        numberBoard[x][1] = true;
-        numberBoard[x][2] = true;
-        numberBoard[x][3] = true;
-        numberBoard[x][4] = true;
-        numberBoard[x][5] = true;
-        numberBoard[x][6] = true;
-        numberBoard[x][7] = true;
-        numberBoard[x+1][0] = true;
-        numberBoard[x+1][1] = true;
-        numberBoard[x+1][3] = true;
-        numberBoard[x+1][4] = true;
-        numberBoard[x+1][6] = true;
-        numberBoard[x+1][7] = true;
-        numberBoard[x+2][0] = true;
-        numberBoard[x+2][1] = true;
-        numberBoard[x+2][2] = true;
-        numberBoard[x+2][3] = true;
-        numberBoard[x+2][4] = true;
-        numberBoard[x+2][5] = true;
-        numberBoard[x+2][6] = true;
-        numberBoard[x+2][7] = true;
+        return length * 4 - 1;
     }
 
-    private void buildNine()
+    public int getHeight()
     {
-        numberBoard[x][0] = true;
-        numberBoard[x][1] = true;
-        numberBoard[x][2] = true;
-        numberBoard[x][3] = true;
-        numberBoard[x][4] = true;
-        numberBoard[x+1][0] = true;
-        numberBoard[x+1][1] = true;
-        numberBoard[x+1][3] = true;
-        numberBoard[x+1][4] = true;
-        numberBoard[x+2][0] = true;
-        numberBoard[x+2][1] = true;
-        numberBoard[x+2][2] = true;
-        numberBoard[x+2][3] = true;
-        numberBoard[x+2][4] = true;
-        numberBoard[x+2][5] = true;
-        numberBoard[x+2][6] = true;
-        numberBoard[x+2][7] = true;
+        return height;
     }
 }
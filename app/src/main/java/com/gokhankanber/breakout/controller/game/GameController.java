@@ -17,19 +17,34 @@
 package com.gokhankanber.breakout.controller.game;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Preferences;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Rectangle;
 import com.gokhankanber.breakout.Breakout;
+import com.gokhankanber.breakout.BuildConfig;
 import com.gokhankanber.breakout.R;
 import com.gokhankanber.breakout.controller.BaseController;
 import com.gokhankanber.breakout.controller.game.GameInputController.InputListener;
+import com.gokhankanber.breakout.controller.game.WorldRenderer.WallMode;
+import com.gokhankanber.breakout.metrics.HitchDetector;
+import com.gokhankanber.breakout.metrics.Metrics;
+import com.gokhankanber.breakout.metrics.Trace;
+import com.gokhankanber.breakout.model.Clock;
+import com.gokhankanber.breakout.model.InputLog;
+import com.gokhankanber.breakout.model.Rewind;
+import com.gokhankanber.breakout.model.Snapshot;
+import com.gokhankanber.breakout.model.StateBuffer;
 import com.gokhankanber.breakout.model.World;
 import com.gokhankanber.breakout.provider.Config;
+import com.gokhankanber.breakout.provider.Font;
+import com.gokhankanber.breakout.provider.SnapshotStore;
 import com.gokhankanber.breakout.view.MainMenuScreen;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * Controller class for {@link com.gokhankanber.breakout.view.GameScreen} class.
  * Listens for user input.
@@ -54,11 +69,10 @@ public class GameController extends BaseController
     private final float gameMenuItemHeight = 20.0f;
     private final float gameMenuItemX = (Config.WIDTH - gameMenuItemWidth) / 2;
     private final int menuItemFontSize = 16;
+    private final int menuItemColor = 0xffffffff;
     private ShapeRenderer shapeRenderer;
     private Color gameMenuBackgroundColor;
     private Rectangle[] menuItemBounds;
-    private Texture[] menuItemTextures;
-    private Texture gameEndMessageTexture;
     private String gameEndMessage;
     private String[] gameMenuItems;
     private float gameEndMessageX;
@@ -68,13 +82,37 @@ public class GameController extends BaseController
     private float[] gameMenuItemsBoundY;
 
     // Input, world, world renderer
+    private final int keyframeInterval = 600; // 10 seconds
+    private final int inputLogCapacity = 128 * 1024; // bytes
+    private final int rewindBudget = 32 * 1024; // bytes
+    private final int rewindTicks = 300; // 5 seconds
+    private final int rewindKeyframeInterval = 30;
     private GameInputController inputController;
+    private InputLog inputLog;
     private World world;
     private WorldRenderer worldRenderer;
 
-    public GameController(Breakout game)
+    // Snapshot to restore on init, and buffer to write snapshots on pause
+    private StateBuffer snapshot;
+    private final StateBuffer snapshotBuffer = new StateBuffer(512);
+
+    // Performance HUD, which is toggled by touching the scoreboard on pause menu
+    private final float hudToggleHeight = 24;
+    private PerformanceHud hud;
+    private Rectangle hudToggleBounds;
+    private long savedHitches;
+
+    private final Metrics metrics = Metrics.get();
+
+    /**
+     * @param game is the game.
+     * @param snapshot of a game to restore, or null to start a new game.
+     */
+    public GameController(Breakout game, StateBuffer snapshot)
     {
         super(game);
+
+        this.snapshot = snapshot;
     }
 
     @Override
@@ -88,21 +126,39 @@ public class GameController extends BaseController
         Gdx.input.setCatchBackKey(true);
 
         // Init world
-        world = new World(game);
-        worldRenderer = new WorldRenderer(world, batch, camera);
+        world = restoreWorld();
+
+        if(world == null)
+        {
+            world = new World(Config.getWorldConfig(), asset);
+        }
+
+        inputLog = new InputLog(world.getConfig(), keyframeInterval, inputLogCapacity);
+        world.setInputLog(inputLog);
+        world.setRewind(new Rewind(rewindBudget, rewindTicks, rewindKeyframeInterval));
+        world.setMetrics(metrics);
+        world.setTrace(Trace.get());
+        worldRenderer = new WorldRenderer(world, asset, batch, camera);
+
+        // Init performance HUD
+        hud = new PerformanceHud(asset);
+        hudToggleBounds = new Rectangle(0, Config.getHeight() - hudToggleHeight, Config.WIDTH, hudToggleHeight);
 
         // Init pause menu
         resetGameMenu(GameMenuType.PAUSE);
     }
 
     @Override
-    public void update(float delta)
+    public void update(Clock clock)
     {
+        // Dispatch input events of the frame
+        inputController.drain();
+
         // Update world on resume and ready states
         // Init win / game over menu on ending state and set world's state to end
         if(world.isResumed() || world.isReady())
         {
-            world.update(delta);
+            world.update(clock);
 
             if(world.isBoardChanged())
             {
@@ -120,15 +176,7 @@ public class GameController extends BaseController
                         gameEndMessage = game.getResources().getString(R.string.win);
                     }
 
-                    Gdx.app.postRunnable(new Runnable()
-                    {
-                        @Override
-                        public void run()
-                        {
-                            resetGameMenu(GameMenuType.END);
-                            world.end();
-                        }
-                    });
+                    Gdx.app.postRunnable(endGame);
                 }
             }
         }
@@ -141,31 +189,193 @@ public class GameController extends BaseController
 
         // Render world
         worldRenderer.render();
+        int renderCalls = worldRenderer.getRenderCalls();
 
         // Draw game menu: pause menu, win / game over menu
         if(world.isPaused() || world.isEnd())
         {
             drawGameMenu();
+            renderCalls += batch.renderCalls + 1; // and one flush of menu background shape
+        }
+
+        // Draw performance HUD
+        if(Config.hud)
+        {
+            hud.update(delta);
+            batch.begin();
+            hud.draw(batch);
+            batch.end();
+            renderCalls += batch.renderCalls;
         }
+
+        metrics.set(Metrics.Gauge.RENDER_CALLS, renderCalls);
     }
 
+    /**
+     * Pauses a running game and writes its snapshot, so it can be restored if the process is killed in background.
+     * Snapshot is taken on the GL thread, and written to storage on a background thread.
+     */
     @Override
-    public void release()
+    public void pause()
     {
-        super.release();
+        if(world.isEnding() || world.isEnd())
+        {
+            SnapshotStore.get().delete();
 
-        for(Texture texture : menuItemTextures)
+            return;
+        }
+
+        if(!world.isPaused())
         {
-            texture.dispose();
+            world.pause();
         }
 
-        if(gameEndMessageTexture != null)
+        snapshotBuffer.clear();
+        Snapshot.write(world, snapshotBuffer);
+        SnapshotStore.get().save(snapshotBuffer);
+
+        if(Config.hud)
         {
-            gameEndMessageTexture.dispose();
+            saveTrace();
         }
 
+        saveHitches();
+    }
+
+    @Override
+    public void release()
+    {
+        super.release();
+
         shapeRenderer.dispose();
         worldRenderer.dispose();
+        saveInputLog();
+
+        // Game is left, so there is nothing to restore.
+        SnapshotStore.get().delete();
+    }
+
+    /**
+     * Shows or hides performance HUD, and saves it to settings. Only debug builds can toggle it.
+     */
+    private void toggleHud()
+    {
+        Config.hud = !Config.hud;
+        Preferences preferences = Gdx.app.getPreferences(".breakout");
+        preferences.putBoolean(Config.KEY_HUD, Config.hud);
+        preferences.flush();
+
+        // Trace is recorded while HUD is shown, and written when it is hidden.
+        if(!Config.hud)
+        {
+            saveTrace();
+        }
+
+        Trace.get().clear();
+        Trace.get().setEnabled(Config.hud);
+    }
+
+    /**
+     * Switches the wall between sprite cache and texture render modes, so their costs can be compared on the HUD.
+     */
+    private void toggleWallMode()
+    {
+        worldRenderer.setWallMode(worldRenderer.getWallMode() == WallMode.CACHE ? WallMode.TEXTURE : WallMode.CACHE);
+    }
+
+    /**
+     * Writes hitch records to local storage as CSV, if there are new hitches since the last write.
+     * Hitches are copied on the GL thread, and written on the background thread of snapshot store.
+     */
+    private void saveHitches()
+    {
+        if(HitchDetector.get().getCount() == savedHitches)
+        {
+            return;
+        }
+
+        final HitchDetector hitches = HitchDetector.get().copy();
+        savedHitches = hitches.getCount();
+
+        SnapshotStore.get().write(Config.HITCHES_FILE, new SnapshotStore.ContentWriter()
+        {
+            @Override
+            public void write(OutputStream stream) throws IOException
+            {
+                hitches.write(stream);
+            }
+        });
+    }
+
+    /**
+     * Writes trace events to local storage as Chrome trace event JSON.
+     * Events are copied on the GL thread, and written on the background thread of snapshot store.
+     */
+    private void saveTrace()
+    {
+        final Trace trace = Trace.get().copy();
+
+        SnapshotStore.get().write(Config.TRACE_FILE, new SnapshotStore.ContentWriter()
+        {
+            @Override
+            public void write(OutputStream stream) throws IOException
+            {
+                trace.write(stream);
+            }
+        });
+    }
+
+    /**
+     * Restores world from snapshot, if it is made on a screen of the same size.
+     * A corrupt snapshot is deleted, so the game does not fail on every start.
+     * @return the restored world, or null.
+     */
+    private World restoreWorld()
+    {
+        if(snapshot == null)
+        {
+            return null;
+        }
+
+        World restored;
+
+        try
+        {
+            restored = Snapshot.restore(snapshot, asset);
+        }
+        catch(RuntimeException e)
+        {
+            Gdx.app.error(getClass().getSimpleName(), "Snapshot is corrupt", e);
+            SnapshotStore.get().delete();
+            restored = null;
+        }
+
+        snapshot = null;
+
+        if(restored == null || restored.getConfig().width != Config.WIDTH || restored.getConfig().height != Config.getHeight())
+        {
+            return null;
+        }
+
+        return restored;
+    }
+
+    /**
+     * Keeps input log of the last game in a local file, so the game can be replayed.
+     * Game is left, so the log is not recorded any more and is written on the background thread of snapshot store as it is.
+     */
+    private void saveInputLog()
+    {
+        final InputLog log = inputLog;
+
+        SnapshotStore.get().write(Config.INPUT_LOG_FILE, new SnapshotStore.ContentWriter()
+        {
+            @Override
+            public void write(OutputStream stream) throws IOException
+            {
+                log.write(stream);
+            }
+        });
     }
 
     /**
@@ -228,12 +438,10 @@ public class GameController extends BaseController
         gameMenuItemsFontX = new float[menuItemsLength];
         gameMenuItemsFontY = new float[menuItemsLength];
         gameMenuItemsBoundY = new float[menuItemsLength];
-        menuItemTextures = new Texture[menuItemsLength];
         float height = gameMenuHeight;
 
         if(world.isEnding())
         {
-            gameEndMessageTexture = asset.getTexture(gameEndMessage);
             gameEndMessageX = (Config.WIDTH - gameEndMessage.length() * menuItemFontSize) / 2;
             gameEndMessageY = height + gameMenuY - gameMenuPaddingTop - (gameMenuItemHeight + menuItemFontSize) / 2;
             height -= (gameMenuPaddingTop + gameMenuItemHeight);
@@ -241,7 +449,6 @@ public class GameController extends BaseController
 
         for(int i = 0; i < menuItemsLength; i++)
         {
-            menuItemTextures[i] = asset.getTexture(gameMenuItems[i]);
             gameMenuItemsFontX[i] = (Config.WIDTH - gameMenuItems[i].length() * menuItemFontSize) / 2;
             gameMenuItemsBoundY[i] = (height + 2 * gameMenuY + (menuItemsLength * gameMenuItemHeight)) / 2 - (i + 1) * gameMenuItemHeight;
             gameMenuItemsFontY[i] = gameMenuItemsBoundY[i] + (gameMenuItemHeight - menuItemFontSize) / 2;
@@ -263,16 +470,17 @@ public class GameController extends BaseController
         shapeRenderer.end();
         Gdx.gl.glDisable(GL20.GL_BLEND);
 
+        Font font = asset.getFont();
         batch.begin();
 
         if(world.isEnd())
         {
-            batch.draw(gameEndMessageTexture, gameEndMessageX, gameEndMessageY, gameEndMessage.length() * menuItemFontSize, menuItemFontSize);
+            font.draw(batch, gameEndMessage, gameEndMessageX, gameEndMessageY, menuItemFontSize, menuItemColor);
         }
 
         for(int i = 0; i < gameMenuItems.length; i++)
         {
-            batch.draw(menuItemTextures[i], gameMenuItemsFontX[i], gameMenuItemsFontY[i], gameMenuItems[i].length() * menuItemFontSize, menuItemFontSize);
+            font.draw(batch, gameMenuItems[i], gameMenuItemsFontX[i], gameMenuItemsFontY[i], menuItemFontSize, menuItemColor);
         }
 
         batch.end();
@@ -297,13 +505,10 @@ public class GameController extends BaseController
         }
 
         @Override
-        public void move(float amount)
+        public void move(float amount, long time)
         {
-            // Move by amount of change in x coordinate.
-            if(world.isResumed())
-            {
-                world.getPaddle().move(amount);
-            }
+            // Move by amount of change in x coordinate on the next step.
+            world.queueMove(amount, time);
         }
 
         @Override
@@ -316,7 +521,13 @@ public class GameController extends BaseController
             }
             else if(world.isPaused())
             {
-                if(menuItemBounds[0].contains(x, y))
+                if(BuildConfig.DEBUG && hudToggleBounds.contains(x, y))
+                {
+                    // Scoreboard: Performance HUD, in debug builds only.
+                    asset.playButtonSound();
+                    toggleHud();
+                }
+                else if(menuItemBounds[0].contains(x, y))
                 {
                     // Pause menu: Resume.
                     asset.playButtonSound();
@@ -332,7 +543,13 @@ public class GameController extends BaseController
                 {
                     // Pause menu: Exit.
                     asset.playButtonSound();
-                    game.setScreen(new MainMenuScreen(game));
+                    Gdx.app.postRunnable(exitGame);
+                }
+                else if(BuildConfig.DEBUG && world.getWall().getBounds().contains(x, y))
+                {
+                    // Wall: Wall render mode, in debug builds only.
+                    asset.playButtonSound();
+                    toggleWallMode();
                 }
             }
             else if(world.isEnd())
@@ -348,9 +565,30 @@ public class GameController extends BaseController
                 {
                     // Win / game over menu: Exit.
                     asset.playButtonSound();
-                    game.setScreen(new MainMenuScreen(game));
+                    Gdx.app.postRunnable(exitGame);
                 }
             }
         }
     };
+
+    // Inits win / game over menu and sets world's state to end.
+    private final Runnable endGame = new Runnable()
+    {
+        @Override
+        public void run()
+        {
+            resetGameMenu(GameMenuType.END);
+            world.end();
+        }
+    };
+
+    // Goes back to main menu. Taps are dispatched in update, so the screen is changed before the next frame, not while this one is drawn.
+    private final Runnable exitGame = new Runnable()
+    {
+        @Override
+        public void run()
+        {
+            game.setScreen(new MainMenuScreen(game));
+        }
+    };
 }
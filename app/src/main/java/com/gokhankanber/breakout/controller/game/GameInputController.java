@@ -16,20 +16,23 @@
 
 package com.gokhankanber.breakout.controller.game;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input.Keys;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.gokhankanber.breakout.controller.BaseInputController;
+import com.gokhankanber.breakout.model.InputQueue;
 
 /**
  * Input controller class for {@link GameController} class.
- * Uses touchDown and touchDragged methods for moving paddle.
- * Uses touchUp method for click events.
+ * Queues touchDown, touchDragged and touchUp events and back key, and dispatches them once a frame by {@link #drain()}.
+ * Uses touchDown and touchDragged events for moving paddle.
+ * Uses touchUp events for click events.
  */
 public class GameInputController extends BaseInputController
 {
+    private final int queueCapacity = 64;
+    private final InputQueue queue = new InputQueue(queueCapacity);
     private InputListener inputListener;
-    private float startX;
-    private float amount;
 
     public GameInputController(OrthographicCamera camera, InputListener inputListener)
     {
@@ -41,8 +44,7 @@ public class GameInputController extends BaseInputController
     @Override
     public boolean touchDown(int screenX, int screenY, int pointer, int button)
     {
-        camera.unproject(touchPoint1.set(screenX, screenY, 0)); // Translate screen coordinate to camera coordinate of world.
-        startX = touchPoint1.x; // Init start x point before touchDragged method.
+        queue.add(InputQueue.Type.DOWN, screenX, screenY); // Init start x point before touchDragged events.
 
         return false;
     }
@@ -50,8 +52,7 @@ public class GameInputController extends BaseInputController
     @Override
     public boolean touchUp(int screenX, int screenY, int pointer, int button)
     {
-        camera.unproject(touchPoint1.set(screenX, screenY, 0));
-        inputListener.check(touchPoint1.x, touchPoint1.y); // Check click events for game menu items.
+        queue.add(InputQueue.Type.UP, screenX, screenY);
 
         return false;
     }
@@ -60,13 +61,9 @@ public class GameInputController extends BaseInputController
     public boolean touchDragged(int screenX, int screenY, int pointer)
     {
         // Track for touch with pointer zero.
-        // Call move method with the amount of change in x coordinate.
         if(pointer == 0)
         {
-            camera.unproject(touchPoint1.set(screenX, screenY, 0));
-            amount = touchPoint1.x - startX;
-            startX = touchPoint1.x;
-            inputListener.move(amount);
+            queue.add(InputQueue.Type.DRAG, screenX, screenY);
         }
 
         return false;
@@ -78,7 +75,7 @@ public class GameInputController extends BaseInputController
         // Listen for back button
         if(keycode == Keys.BACK)
         {
-            inputListener.back();
+            queue.add(InputQueue.Type.BACK, 0, 0);
 
             return true;
         }
@@ -86,10 +83,42 @@ public class GameInputController extends BaseInputController
         return false;
     }
 
+    /**
+     * Dispatches queued events to input listener in order, before the world is updated.
+     * Drags are converted to change in x coordinate of world by camera scale, so only clicks are unprojected.
+     */
+    public void drain()
+    {
+        queue.drain(camera.viewportWidth * camera.zoom / Gdx.graphics.getWidth(), queueListener);
+    }
+
+    private final InputQueue.Listener queueListener = new InputQueue.Listener()
+    {
+        @Override
+        public void move(float amount, long time)
+        {
+            // Call move method with the amount of change in x coordinate.
+            inputListener.move(amount, time);
+        }
+
+        @Override
+        public void click(int screenX, int screenY)
+        {
+            camera.unproject(touchPoint1.set(screenX, screenY, 0)); // Translate screen coordinate to camera coordinate of world.
+            inputListener.check(touchPoint1.x, touchPoint1.y); // Check click events for game menu items.
+        }
+
+        @Override
+        public void back()
+        {
+            inputListener.back();
+        }
+    };
+
     public interface InputListener
     {
         void back();
-        void move(float amount);
+        void move(float amount, long time);
         void check(float x, float y);
     }
 }
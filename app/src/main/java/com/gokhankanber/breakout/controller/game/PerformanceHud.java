@@ -0,0 +1,231 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.controller.game;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.gokhankanber.breakout.metrics.HitchDetector;
+import com.gokhankanber.breakout.metrics.Metrics;
+import com.gokhankanber.breakout.provider.Asset;
+import com.gokhankanber.breakout.provider.Config;
+import com.gokhankanber.breakout.provider.Font;
+
+import java.util.Arrays;
+
+/**
+ * Debug overlay of frame rate, frame time percentiles and sparkline, heap, draw calls, world rebuilds per second, hitches, and input latency.
+ * Text is drawn with the shared glyph atlas {@link Font}, and numbers are written to a char array, so drawing does not allocate.
+ */
+public class PerformanceHud
+{
+    private final int fontSize = 8;
+    private final int samples = 120;
+    private final float x = 12;
+    private final float textY = Config.getHeight() - 32;
+    private final float sparklineY = textY - 6 * (fontSize + 2) - 36;
+    private final float sparklineScale = 1; // height per millisecond
+    private final float sparklineHeight = 33;
+    private final float frameBudget = 1000f / 60; // milliseconds
+    private final int textColor = 0x48a048ff;
+    private final Metrics metrics = Metrics.get();
+    private final HitchDetector hitchDetector = HitchDetector.get();
+    private final Runtime runtime = Runtime.getRuntime();
+    private final float[] frameTimes = new float[samples];
+    private final float[] sortedFrameTimes = new float[samples];
+    private final char[] line = new char[(int) (Config.WIDTH / fontSize)];
+    private int length;
+    private Font font;
+    private TextureRegion barTextureRegion;
+    private TextureRegion slowBarTextureRegion;
+    private int sample;
+    private int sampleCount;
+
+    // Values of the last second
+    private float elapsed;
+    private int frames;
+    private long lastWorldResets;
+    private int fps;
+    private float p50;
+    private float p99;
+    private long rebuilds;
+
+    public PerformanceHud(Asset asset)
+    {
+        font = asset.getFont();
+        barTextureRegion = asset.getRegion(new Color(textColor));
+        slowBarTextureRegion = asset.getRegion(Color.RED);
+        lastWorldResets = metrics.getCount(Metrics.Counter.WORLD_RESETS);
+    }
+
+    /**
+     * Adds frame time, and updates values every second.
+     * @param delta is frame time in seconds.
+     */
+    public void update(float delta)
+    {
+        frameTimes[sample] = delta * 1000;
+        sample = (sample + 1) % samples;
+        sampleCount = Math.min(sampleCount + 1, samples);
+        elapsed += delta;
+        frames++;
+
+        if(elapsed >= 1)
+        {
+            fps = Math.round(frames / elapsed);
+            long worldResets = metrics.getCount(Metrics.Counter.WORLD_RESETS);
+            rebuilds = worldResets - lastWorldResets;
+            lastWorldResets = worldResets;
+            elapsed = 0;
+            frames = 0;
+
+            // Sorting a primitive array of this size does not allocate.
+            System.arraycopy(frameTimes, 0, sortedFrameTimes, 0, sampleCount);
+            Arrays.sort(sortedFrameTimes, 0, sampleCount);
+            p50 = sortedFrameTimes[(sampleCount - 1) / 2];
+            p99 = sortedFrameTimes[(int) Math.ceil(sampleCount * 0.99) - 1];
+        }
+    }
+
+    /**
+     * Draws text lines and frame time sparkline. Batch is begun by the caller.
+     */
+    public void draw(SpriteBatch batch)
+    {
+        // FPS 60 FRAME 16.6
+        begin("FPS ").append(fps).append(" FRAME ").append(sampleCount > 0 ? frameTimes[(sample + samples - 1) % samples] : 0);
+        drawLine(batch, 0);
+
+        // P50 16.6 P99 17.1 MS
+        begin("P50 ").append(p50).append(" P99 ").append(p99).append(" MS");
+        drawLine(batch, 1);
+
+        // HEAP 12/64 MB
+        begin("HEAP ").append((int) ((runtime.totalMemory() - runtime.freeMemory()) >> 20)).append("/").append((int) (runtime.maxMemory() >> 20)).append(" MB");
+        drawLine(batch, 2);
+
+        // DRAWS 3 REBUILDS 2/S
+        begin("DRAWS ").append((int) metrics.getValue(Metrics.Gauge.RENDER_CALLS)).append(" REBUILDS ").append((int) rebuilds).append("/S");
+        drawLine(batch, 3);
+
+        // HITCHES 2 LAST 45.1 MS
+        begin("HITCHES ").append((int) hitchDetector.getCount());
+
+        if(hitchDetector.getSize() > 0)
+        {
+            append(" LAST ").append(hitchDetector.getInterval(hitchDetector.getSize() - 1) / 1e6f).append(" MS");
+        }
+
+        drawLine(batch, 4);
+
+        // INPUT 21.3 P99 33.5 MS
+        begin("INPUT ").append(metrics.getMean(Metrics.Histogram.INPUT_LATENCY) / 1e6f).append(" P99 ").append(metrics.getPercentile(Metrics.Histogram.INPUT_LATENCY, 0.99) / 1e6f).append(" MS");
+        drawLine(batch, 5);
+
+        // Sparkline of the last frames from oldest to newest, bars over frame budget are red.
+        for(int i = 0; i < sampleCount; i++)
+        {
+            float frameTime = frameTimes[(sample + samples - sampleCount + i) % samples];
+            float height = Math.min(frameTime * sparklineScale, sparklineHeight);
+            batch.draw(frameTime > frameBudget * 1.05f ? slowBarTextureRegion : barTextureRegion, x + i, sparklineY, 1, height);
+        }
+
+        // Frame budget line
+        batch.draw(barTextureRegion, x, sparklineY + frameBudget * sparklineScale, samples, 0.5f);
+    }
+
+    private PerformanceHud begin(String text)
+    {
+        length = 0;
+
+        return append(text);
+    }
+
+    /**
+     * Appends a constant text. Characters which are not glyphs are drawn as spaces.
+     */
+    private PerformanceHud append(String text)
+    {
+        for(int i = 0; i < text.length() && length < line.length; i++)
+        {
+            line[length++] = text.charAt(i);
+        }
+
+        return this;
+    }
+
+    private PerformanceHud append(int value)
+    {
+        if(value < 0)
+        {
+            append("-");
+            value = -value;
+        }
+
+        int start = length;
+
+        do
+        {
+            if(length < line.length)
+            {
+                line[length++] = (char) ('0' + value % 10);
+            }
+
+            value /= 10;
+        }
+        while(value > 0);
+
+        // Digits are written from right to left.
+        for(int i = start, j = length - 1; i < j; i++, j--)
+        {
+            char c = line[i];
+            line[i] = line[j];
+            line[j] = c;
+        }
+
+        return this;
+    }
+
+    /**
+     * Appends a value with one decimal.
+     */
+    private PerformanceHud append(float value)
+    {
+        int tenths = Math.round(value * 10);
+
+        if(tenths < 0)
+        {
+            // Sign is written here, since integer part of a value between -1 and 0 is 0.
+            append("-");
+            tenths = Math.abs(tenths);
+        }
+
+        append(tenths / 10).append(".");
+
+        if(length < line.length)
+        {
+            line[length++] = (char) ('0' + tenths % 10);
+        }
+
+        return this;
+    }
+
+    private void drawLine(SpriteBatch batch, int row)
+    {
+        font.draw(batch, line, length, x, textY - row * (fontSize + 2), fontSize, textColor);
+    }
+}
@@ -16,21 +16,45 @@
 
 package com.gokhankanber.breakout.controller.game;
 
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.SpriteCache;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.utils.Array;
-import com.gokhankanber.breakout.model.Ball;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.gokhankanber.breakout.metrics.Metrics;
+import com.gokhankanber.breakout.metrics.Trace;
+import com.gokhankanber.breakout.model.Balls;
 import com.gokhankanber.breakout.model.Block;
 import com.gokhankanber.breakout.model.Brick;
+import com.gokhankanber.breakout.model.BrickGrid;
 import com.gokhankanber.breakout.model.Paddle;
 import com.gokhankanber.breakout.model.World;
 import com.gokhankanber.breakout.provider.Asset;
 import com.gokhankanber.breakout.provider.Config;
 
+import java.nio.ByteBuffer;
+
 public class WorldRenderer
 {
+    /**
+     * Wall render modes.
+     * CACHE draws a sprite for each brick from SpriteCache, which is redefined when a brick is hit.
+     * TEXTURE draws the wall as a quad of a texture with a texel for each cell, and updates texels of hit bricks.
+     * Debug builds switch modes by touching the wall on pause menu.
+     */
+    public enum WallMode
+    {
+        CACHE,
+        TEXTURE
+    }
+
     // Board: Score, balls, and player number.
     private final int scoreBoardX = 54;
     private final int scoreBoardWidth = 60;
@@ -40,6 +64,7 @@ public class WorldRenderer
     private final int boardY = (int) Config.getHeight() - 3 - (digitBlockHeight * 8);
     private final int ballsX = scoreBoardX + scoreBoardWidth + 36;
     private final int playerNumberX = ballsX + digitWidth + 24;
+    private final int digitQuads = 9; // Quads of a digit at most: up to three runs of blocks in each of its columns.
 
     // Render
     private SpriteBatch batch;
@@ -47,22 +72,40 @@ public class WorldRenderer
     private Asset asset;
     private TextureRegion ballTextureRegion, paddleTextureRegion, borderTextureRegion, leftBlockTextureRegion, rightBlockTextureRegion;
     private TextureRegion[] brickTextureRegions;
-    private Ball ball;
+    private TextureRegion splitBrickTextureRegion;
+    private World world;
+    private Balls balls;
     private Paddle paddle;
     private Array<Block> border;
     private Block leftBlock, rightBlock;
-    private Array<Brick> wall;
+    private BrickGrid wall;
     private Board board;
     private SpriteCache cache;
-    private int cacheId;
+    private int borderCacheId, wallCacheId, boardCacheId;
+    private int borderSprites, wallSprites, boardSprites;
+    private int wallVersion;
+    private int boardPoints, boardBalls;
     private int brickRows;
+    private int renderCalls;
+
+    // Wall texture: texel of a cell is its brick's color, or transparent if it is empty.
+    private final int maxTexelUpdates = 8; // More changed cells upload the whole texture.
+    private final ByteBuffer texel = BufferUtils.newByteBuffer(4);
+    private WallMode wallMode = WallMode.TEXTURE;
+    private Pixmap wallPixmap;
+    private Texture wallTexture;
+    private long[] wallOccupancy; // Occupancy bits of the wall texture.
 
-    public WorldRenderer(World world, SpriteBatch batch, OrthographicCamera camera)
+    private final Metrics metrics = Metrics.get();
+    private final Trace trace = Trace.get();
+
+    public WorldRenderer(World world, Asset asset, SpriteBatch batch, OrthographicCamera camera)
     {
         this.batch = batch;
         this.camera = camera;
-        asset = world.getAsset();
-        ball = world.getBall();
+        this.world = world;
+        this.asset = asset;
+        balls = world.getBalls();
         paddle = world.getPaddle();
         border = world.getBorder();
         leftBlock = world.getBlocks().get(0);
@@ -73,20 +116,76 @@ public class WorldRenderer
 
         // Creates textures for models and creates world.
         createTextureRegions();
-        resetWorld();
+        createWallTexture();
+        createCache();
+    }
+
+    public WallMode getWallMode()
+    {
+        return wallMode;
+    }
+
+    /**
+     * Sets how the wall is drawn, and brings the wall of the mode up to date.
+     */
+    public void setWallMode(WallMode wallMode)
+    {
+        this.wallMode = wallMode;
+
+        cache.beginCache(wallCacheId);
+        wallSprites = (wallMode == WallMode.CACHE ? addWalls() : 0);
+        cache.endCache();
+        metrics.increment(Metrics.Counter.WORLD_RESETS);
+
+        if(wallMode == WallMode.TEXTURE)
+        {
+            updateWallTexture();
+        }
+
+        wallVersion = wall.getVersion();
+    }
+
+    /**
+     * Returns number of render calls of the last drawn world, since batch counts only the calls since its last begin.
+     */
+    public int getRenderCalls()
+    {
+        return renderCalls;
     }
 
     /**
      * Draw world and models.
+     * Balls are drawn between their previous and current simulation step positions.
+     * Paddle is drawn at its current position without interpolation, since queued touch moves are applied at the start of a step.
      */
     public void render()
     {
+        trace.begin(Trace.Section.RENDER_WORLD);
         drawWorld();
 
+        float alpha = world.getAlpha();
         batch.begin();
-        batch.draw(ballTextureRegion, ball.getX(), ball.getY(), ball.getWidth(), ball.getHeight());
+
+        if(wallMode == WallMode.TEXTURE)
+        {
+            Rectangle bounds = wall.getBounds();
+            batch.draw(wallTexture, bounds.x, bounds.y, bounds.width, bounds.height);
+        }
+
+        for(int i = 0; i < balls.getSize(); i++)
+        {
+            batch.draw(ballTextureRegion, balls.getX(i, alpha), balls.getY(i, alpha), balls.getWidth(), balls.getHeight());
+        }
+
         batch.draw(paddleTextureRegion, paddle.getX(), paddle.getY(), paddle.getWidth(), paddle.getHeight());
         batch.end();
+
+        renderCalls = cache.renderCalls + batch.renderCalls;
+
+        // Latency of the first input whose paddle move is drawn in this frame.
+        world.recordInputLatency();
+
+        trace.end(Trace.Section.RENDER_WORLD);
     }
 
     /**
@@ -95,106 +194,252 @@ public class WorldRenderer
     public void dispose()
     {
         cache.dispose();
+        wallTexture.dispose();
+        wallPixmap.dispose();
+    }
 
-        ballTextureRegion.getTexture().dispose();
-        paddleTextureRegion.getTexture().dispose();
-        borderTextureRegion.getTexture().dispose();
-        leftBlockTextureRegion.getTexture().dispose();
-        rightBlockTextureRegion.getTexture().dispose();
+    private void createTextureRegions()
+    {
+        ballTextureRegion = asset.getRegion(balls.getColor());
+        paddleTextureRegion = asset.getRegion(paddle.getColor());
+        borderTextureRegion = asset.getRegion(border.get(0).getColor());
+        leftBlockTextureRegion = asset.getRegion(leftBlock.getColor());
+        rightBlockTextureRegion = asset.getRegion(rightBlock.getColor());
 
-        for(TextureRegion textureRegion : brickTextureRegions)
+        // Wall: regions of all rows, since a restored wall may have no standing brick of a row.
+        brickTextureRegions = new TextureRegion[brickRows];
+
+        for(int i = 0; i < brickRows; i++)
         {
-            textureRegion.getTexture().dispose();
+            brickTextureRegions[i] = asset.getRegion(world.getBrickColor(i));
         }
+
+        splitBrickTextureRegion = asset.getRegion(world.getSplitBrickColor());
     }
 
-    private void createTextureRegions()
+    /**
+     * Creates SpriteCache with a cache for each region of world: border and blocks, wall, and scoreboard.
+     * Border is static. Wall and scoreboard caches are filled up to a full wall and the largest numbers with empty sprites,
+     * so they can be redefined in place without allocation. They are followed by a one sprite cache,
+     * since SpriteCache recreates the last cache when it is redefined.
+     */
+    private void createCache()
     {
-        ballTextureRegion = new TextureRegion(asset.getTexture(ball.getColor()));
-        paddleTextureRegion = new TextureRegion(asset.getTexture(paddle.getColor()));
-        borderTextureRegion = new TextureRegion(asset.getTexture(border.get(0).getColor()));
-        leftBlockTextureRegion = new TextureRegion(asset.getTexture(leftBlock.getColor()));
-        rightBlockTextureRegion = new TextureRegion(asset.getTexture(rightBlock.getColor()));
+        int wallSize = wall.getRows() * wall.getColumns();
+        int boardSize = 3 * Board.MAX_DIGITS * digitQuads;
 
-        // Wall
-        brickTextureRegions = new TextureRegion[brickRows];
+        cache = new SpriteCache(border.size + 2 + wallSize + boardSize + 1, false);
+
+        cache.beginCache();
+        borderSprites = addBorder();
+        borderCacheId = cache.endCache();
+
+        cache.beginCache();
+        wallSprites = (wallMode == WallMode.CACHE ? addWalls() : 0);
+        pad(wallSprites, wallSize);
+        wallCacheId = cache.endCache();
+        wallVersion = wall.getVersion();
+
+        cache.beginCache();
+        boardSprites = addBoard();
+        pad(boardSprites, boardSize);
+        boardCacheId = cache.endCache();
 
-        for(Brick brick : wall)
+        cache.beginCache();
+        cache.add(borderTextureRegion, 0, 0, 0, 0);
+        cache.endCache();
+    }
+
+    /**
+     * Redefines caches of the changed regions: wall, if a brick is hit or a wall is created, and scoreboard, if score or balls are changed.
+     * Border is not changed, so a brick hit redefines only the wall and the scoreboard.
+     */
+    public void resetWorld()
+    {
+        trace.begin(Trace.Section.RESET_WORLD);
+        long start = System.nanoTime();
+
+        if(wallVersion != wall.getVersion())
+        {
+            if(wallMode == WallMode.CACHE)
+            {
+                cache.beginCache(wallCacheId);
+                wallSprites = addWalls();
+                cache.endCache();
+                metrics.increment(Metrics.Counter.WORLD_RESETS);
+            }
+            else
+            {
+                updateWallTexture();
+            }
+
+            wallVersion = wall.getVersion();
+        }
+
+        if(boardPoints != paddle.points || boardBalls != balls.getCount())
         {
-            brickTextureRegions[brick.getIndex()] = new TextureRegion(asset.getTexture(brick.getColor()));
+            cache.beginCache(boardCacheId);
+            boardSprites = addBoard();
+            cache.endCache();
+            metrics.increment(Metrics.Counter.WORLD_RESETS);
         }
+
+        trace.end(Trace.Section.RESET_WORLD);
+
+        metrics.set(Metrics.Gauge.CACHE_SPRITES, borderSprites + wallSprites + boardSprites);
+        metrics.record(Metrics.Histogram.RESET_WORLD, System.nanoTime() - start);
     }
 
     /**
-     * Creates world with a border, up and down walls, and a scoreboard by using SpriteCache.
+     * Creates wall texture with a texel for each cell, which is magnified to the wall bounds with nearest filtering.
      */
-    public void resetWorld()
+    private void createWallTexture()
     {
-        int size = border.size
-                + wall.size
-                + 2;
-        boolean[][] score = board.buildNumber(paddle.points, 3);
-        size += board.getSize();
-        boolean[][] balls = board.buildNumber(ball.getCount());
-        size += board.getSize();
-        boolean[][] playerNumber = board.buildNumber(1);
-        size += board.getSize();
-
-        if(cache != null)
+        wallPixmap = new Pixmap(wall.getColumns(), wall.getRows(), Pixmap.Format.RGBA8888);
+        wallPixmap.setBlending(Pixmap.Blending.None);
+        wallTexture = new Texture(wallPixmap);
+        wallTexture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+        wallOccupancy = new long[wall.getOccupancyLength()];
+        updateWallTexture();
+    }
+
+    /**
+     * Updates texels of the cells whose occupancy is changed since the last update.
+     * A few changed texels are uploaded one by one, e.g. for brick hits, and the whole texture otherwise, e.g. for a new wall.
+     */
+    private void updateWallTexture()
+    {
+        int changed = 0;
+
+        for(int word = 0; word < wallOccupancy.length; word++)
         {
-            cache.dispose();
+            changed += Long.bitCount(wall.getOccupancy(word) ^ wallOccupancy[word]);
         }
 
-        cache = new SpriteCache(size, false);
-        cache.beginCache();
+        boolean upload = changed > maxTexelUpdates;
+
+        if(!upload)
+        {
+            wallTexture.bind();
+        }
 
-        addBorder();
-        addWalls();
-        add(score, scoreBoardX);
-        add(balls, ballsX);
-        add(playerNumber, playerNumberX);
+        for(int word = 0; word < wallOccupancy.length; word++)
+        {
+            long bits = wall.getOccupancy(word) ^ wallOccupancy[word];
+            wallOccupancy[word] = wall.getOccupancy(word);
+
+            while(bits != 0)
+            {
+                int cell = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                int column = cell % wall.getColumns();
+                int row = cell / wall.getColumns(); // Row 0 is the top row of the wall and the texture.
+                int rgba = (wall.isOccupied(cell) ? Color.rgba8888(wall.get(cell).getColor()) : 0);
+                wallPixmap.drawPixel(column, row, rgba);
 
-        cacheId = cache.endCache();
+                if(!upload)
+                {
+                    texel.put(0, (byte) (rgba >>> 24));
+                    texel.put(1, (byte) (rgba >>> 16));
+                    texel.put(2, (byte) (rgba >>> 8));
+                    texel.put(3, (byte) rgba);
+                    Gdx.gl.glTexSubImage2D(GL20.GL_TEXTURE_2D, 0, column, row, 1, 1, GL20.GL_RGBA, GL20.GL_UNSIGNED_BYTE, texel);
+                }
+            }
+        }
+
+        if(upload)
+        {
+            wallTexture.draw(wallPixmap, 0, 0);
+        }
     }
 
-    private void addBorder()
+    /**
+     * Adds empty sprites to the current cache up to its size.
+     */
+    private void pad(int count, int size)
     {
-        for(Block block : border)
+        for(int i = count; i < size; i++)
         {
+            cache.add(borderTextureRegion, 0, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Adds score, balls, and player number to the current cache.
+     * @return number of added sprites.
+     */
+    private int addBoard()
+    {
+        boardPoints = paddle.points;
+        boardBalls = balls.getCount();
+        board.buildNumber(boardPoints, 3);
+        int count = add(scoreBoardX, ballsX - scoreBoardX - digitBlockWidth);
+        board.buildNumber(boardBalls);
+        count += add(ballsX, playerNumberX - ballsX - digitBlockWidth);
+        board.buildNumber(1);
+        count += add(playerNumberX, Config.WIDTH - playerNumberX - digitBlockWidth);
+
+        return count;
+    }
+
+    private int addBorder()
+    {
+        for(int i = 0; i < border.size; i++)
+        {
+            Block block = border.get(i);
             cache.add(borderTextureRegion, block.getX(), block.getY(), block.getWidth(), block.getHeight());
         }
 
         cache.add(leftBlockTextureRegion, leftBlock.getX(), leftBlock.getY(), leftBlock.getWidth(), leftBlock.getHeight());
         cache.add(rightBlockTextureRegion, rightBlock.getX(), rightBlock.getY(), rightBlock.getWidth(), rightBlock.getHeight());
+
+        return border.size + 2;
     }
 
-    private void addWalls()
+    private int addWalls()
     {
-        for(Brick brick : wall)
+        int count = 0;
+
+        for(int cell = wall.next(0); cell >= 0; cell = wall.next(cell + 1))
         {
-            cache.add(brickTextureRegions[brick.getIndex()], brick.getX(), brick.getY(), brick.getWidth(), brick.getHeight());
+            Brick brick = wall.get(cell);
+            cache.add(brick.isSplitBrick() ? splitBrickTextureRegion : brickTextureRegions[brick.getIndex()], brick.getX(), brick.getY(), brick.getWidth(), brick.getHeight());
+            count++;
         }
+
+        return count;
     }
 
     /**
-     * Adds score, balls, and player number to board.
-     * @param numberBoard
+     * Adds the last built number of board to the current cache, a quad for each run of blocks in a column.
+     * Blocks are narrowed if the number is wider than its space, e.g. for a score of more than four digits.
+     * @param startX is left edge of the number.
+     * @param maxWidth is width of the space of the number.
+     * @return number of added quads.
      */
-    private void add(boolean[][] numberBoard, int startX)
+    private int add(int startX, float maxWidth)
     {
-        int width = numberBoard.length;
-        int height = numberBoard[0].length;
+        int width = board.getWidth();
+        int height = board.getHeight();
+        float blockWidth = Math.min(digitBlockWidth, maxWidth / width);
+        int count = 0;
 
         for(int x = 0; x < width; x++)
         {
-            for(int y = 0; y < height; y++)
+            int column = board.getColumn(x);
+
+            while(column != 0)
             {
-                if(numberBoard[x][y])
-                {
-                    cache.add(borderTextureRegion, startX + x * digitBlockWidth, boardY + (height - y - 1) * digitBlockHeight, digitBlockWidth, digitBlockHeight);
-                }
+                int top = Integer.numberOfTrailingZeros(column);
+                int run = Integer.numberOfTrailingZeros(~(column >>> top));
+                column &= ~(((1 << run) - 1) << top);
+                cache.add(borderTextureRegion, startX + x * blockWidth, boardY + (height - top - run) * digitBlockHeight, blockWidth, run * digitBlockHeight);
+                count++;
             }
         }
+
+        return count;
     }
 
     /**
@@ -204,7 +449,9 @@ public class WorldRenderer
     {
         cache.setProjectionMatrix(camera.combined);
         cache.begin();
-        cache.draw(cacheId);
+        cache.draw(borderCacheId);
+        cache.draw(wallCacheId);
+        cache.draw(boardCacheId);
         cache.end();
     }
 }
@@ -23,7 +23,9 @@ import com.gokhankanber.breakout.Breakout;
 import com.gokhankanber.breakout.R;
 import com.gokhankanber.breakout.controller.BaseController;
 import com.gokhankanber.breakout.controller.main.MainInputController.InputListener;
+import com.gokhankanber.breakout.model.Clock;
 import com.gokhankanber.breakout.provider.Config;
+import com.gokhankanber.breakout.provider.Font;
 import com.gokhankanber.breakout.view.GameScreen;
 import com.gokhankanber.breakout.view.SettingsScreen;
 
@@ -45,7 +47,7 @@ public class MainMenuController extends BaseController
     private final float mainMenuItemWidth = 120.0f;
     private final float mainMenuItemX = (Config.WIDTH - mainMenuItemWidth) / 2;
     private final int menuItemFontSize = 16;
-    private Texture[] menuItemTextures;
+    private final int menuItemColor = 0xffffffff;
     private float mainMenuHeight;
     private float[] mainMenuItemsFontX;
     private float[] mainMenuItemsFontY;
@@ -103,11 +105,9 @@ public class MainMenuController extends BaseController
         mainMenuHeight = Config.getHeight() - blockSize - logoTextureHeight;
 
         int i = 0;
-        menuItemTextures = new Texture[menuItemsLength];
 
         for(String item : mainMenuItems)
         {
-            menuItemTextures[i] = asset.getTexture(item);
             mainMenuItemsFontX[i] = (Config.WIDTH - item.length() * menuItemFontSize) / 2;
             mainMenuItemsBoundY[i] = (mainMenuHeight + (menuItemsLength * blockSize)) / 2 - (i + 1) * blockSize;
             mainMenuItemsFontY[i] = mainMenuItemsBoundY[i] + (blockSize - menuItemFontSize) / 2;
@@ -119,7 +119,7 @@ public class MainMenuController extends BaseController
     }
 
     @Override
-    public void update(float delta)
+    public void update(Clock clock)
     {
     }
 
@@ -129,6 +129,7 @@ public class MainMenuController extends BaseController
         clear();
 
         // Draws logo and main menu.
+        Font font = asset.getFont();
         batch.begin();
         batch.draw(logoTexture, logoX, logoY, logoTextureWidth, logoTextureHeight);
 
@@ -136,7 +137,7 @@ public class MainMenuController extends BaseController
 
         for(int i = 0; i < menuItemsLength; i++)
         {
-            batch.draw(menuItemTextures[i], mainMenuItemsFontX[i], mainMenuItemsFontY[i], mainMenuItems[i].length() * menuItemFontSize, menuItemFontSize);
+            font.draw(batch, mainMenuItems[i], mainMenuItemsFontX[i], mainMenuItemsFontY[i], menuItemFontSize, menuItemColor);
         }
 
         batch.end();
@@ -148,11 +149,6 @@ public class MainMenuController extends BaseController
         super.release();
 
         logoTexture.dispose();
-
-        for(Texture texture : menuItemTextures)
-        {
-            texture.dispose();
-        }
     }
 
     private InputListener inputListener = new InputListener()
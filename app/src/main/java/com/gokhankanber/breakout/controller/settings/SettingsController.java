@@ -24,7 +24,9 @@ import com.gokhankanber.breakout.Breakout;
 import com.gokhankanber.breakout.R;
 import com.gokhankanber.breakout.controller.BaseController;
 import com.gokhankanber.breakout.controller.settings.SettingsInputController.InputListener;
+import com.gokhankanber.breakout.model.Clock;
 import com.gokhankanber.breakout.provider.Config;
+import com.gokhankanber.breakout.provider.Font;
 import com.gokhankanber.breakout.view.MainMenuScreen;
 
 /**
@@ -53,20 +55,21 @@ public class SettingsController extends BaseController
     private final float soundY = difficultyValuesBoundY - fontSize;
     private final float soundValuesY = soundY - (blockSize + fontSize) / 2;
     private final float soundValuesBoundY = soundY - blockSize;
+    private final float multiBallY = soundValuesBoundY - fontSize;
+    private final float multiBallValuesY = multiBallY - (blockSize + fontSize) / 2;
+    private final float multiBallValuesBoundY = multiBallY - blockSize;
     private float difficultyNormalX;
     private float difficultyHardX;
     private float soundOffX;
-    private Texture[] settingsMenuItemTextures;
-    private Texture[] difficultyValueTextures;
-    private Texture[] soundValueTextures;
     private String[] settingsMenuItems;
     private String[] difficultyValues;
     private String[] soundValues;
     private Rectangle[] difficultyValueBounds;
     private Rectangle[] soundValueBounds;
+    private Rectangle[] multiBallValueBounds;
 
     // Back button
-    private Texture backButtonTexture;
+    private String backButton;
     private Rectangle backButtonBounds;
 
     private SettingsInputController inputController;
@@ -89,7 +92,7 @@ public class SettingsController extends BaseController
         preferences = Gdx.app.getPreferences(".breakout");
 
         logoTexture = asset.getLogoTexture();
-        backButtonTexture = asset.getTexture(game.getResources().getString(R.string.back));
+        backButton = game.getResources().getString(R.string.back);
         backButtonBounds = new Rectangle(blockPadding, blockPadding, blockSize, blockSize);
         initSettingsMenu();
     }
@@ -98,7 +101,8 @@ public class SettingsController extends BaseController
     {
         settingsMenuItems = new String[]{
                 game.getResources().getString(R.string.difficulty),
-                game.getResources().getString(R.string.sound)
+                game.getResources().getString(R.string.sound),
+                game.getResources().getString(R.string.multi_ball)
         };
 
         difficultyValues = new String[]{
@@ -112,14 +116,6 @@ public class SettingsController extends BaseController
                 game.getResources().getString(R.string.off)
         };
 
-        settingsMenuItemTextures = new Texture[settingsMenuItems.length];
-        difficultyValueTextures = new Texture[difficultyValues.length];
-        soundValueTextures = new Texture[soundValues.length];
-
-        createTextures(0, settingsMenuItemTextures, settingsMenuItems);
-        createTextures(1, difficultyValueTextures, difficultyValues);
-        createTextures(2, soundValueTextures, soundValues);
-
         difficultyNormalX = 2 * blockPadding + difficultyValues[0].length() * fontSize;
         difficultyHardX = blockPadding + difficultyNormalX + difficultyValues[1].length() * fontSize;
         soundOffX = 2 * blockPadding + soundValues[0].length() * fontSize;
@@ -132,10 +128,14 @@ public class SettingsController extends BaseController
         soundValueBounds = new Rectangle[2];
         soundValueBounds[0] = new Rectangle(blockPadding, soundValuesBoundY, soundValues[0].length() * fontSize, blockSize);
         soundValueBounds[1] = new Rectangle(soundOffX, soundValuesBoundY, soundValues[1].length() * fontSize, blockSize);
+
+        multiBallValueBounds = new Rectangle[2];
+        multiBallValueBounds[0] = new Rectangle(blockPadding, multiBallValuesBoundY, soundValues[0].length() * fontSize, blockSize);
+        multiBallValueBounds[1] = new Rectangle(soundOffX, multiBallValuesBoundY, soundValues[1].length() * fontSize, blockSize);
     }
 
     @Override
-    public void update(float delta)
+    public void update(Clock clock)
     {
     }
 
@@ -144,16 +144,21 @@ public class SettingsController extends BaseController
     {
         clear();
 
+        // Values are drawn in enabled color if they are set.
+        Font font = asset.getFont();
         batch.begin();
         batch.draw(logoTexture, logoX, logoY, logoTextureWidth, logoTextureHeight);
-        batch.draw(settingsMenuItemTextures[0], blockPadding, difficultyY, settingsMenuItems[0].length() * fontSize, fontSize);
-        batch.draw(difficultyValueTextures[0], blockPadding, difficultyValuesY, difficultyValues[0].length() * fontSize, fontSize);
-        batch.draw(difficultyValueTextures[1], difficultyNormalX, difficultyValuesY, difficultyValues[1].length() * fontSize, fontSize);
-        batch.draw(difficultyValueTextures[2], difficultyHardX, difficultyValuesY, difficultyValues[2].length() * fontSize, fontSize);
-        batch.draw(settingsMenuItemTextures[1], blockPadding, soundY, settingsMenuItems[1].length() * fontSize, fontSize);
-        batch.draw(soundValueTextures[0], blockPadding, soundValuesY, soundValues[0].length() * fontSize, fontSize);
-        batch.draw(soundValueTextures[1], soundOffX, soundValuesY, soundValues[1].length() * fontSize, fontSize);
-        batch.draw(backButtonTexture, blockPadding, blockPadding, blockSize, blockSize);
+        font.draw(batch, settingsMenuItems[0], blockPadding, difficultyY, fontSize, colorTitle);
+        font.draw(batch, difficultyValues[0], blockPadding, difficultyValuesY, fontSize, getColor(Config.difficulty == 0));
+        font.draw(batch, difficultyValues[1], difficultyNormalX, difficultyValuesY, fontSize, getColor(Config.difficulty == 1));
+        font.draw(batch, difficultyValues[2], difficultyHardX, difficultyValuesY, fontSize, getColor(Config.difficulty == 2));
+        font.draw(batch, settingsMenuItems[1], blockPadding, soundY, fontSize, colorTitle);
+        font.draw(batch, soundValues[0], blockPadding, soundValuesY, fontSize, getColor(Config.sound));
+        font.draw(batch, soundValues[1], soundOffX, soundValuesY, fontSize, getColor(!Config.sound));
+        font.draw(batch, settingsMenuItems[2], blockPadding, multiBallY, fontSize, colorTitle);
+        font.draw(batch, soundValues[0], blockPadding, multiBallValuesY, fontSize, getColor(Config.multiBall));
+        font.draw(batch, soundValues[1], soundOffX, multiBallValuesY, fontSize, getColor(!Config.multiBall));
+        font.draw(batch, backButton, blockPadding, blockPadding, blockSize, colorTitle);
         batch.end();
     }
 
@@ -163,34 +168,15 @@ public class SettingsController extends BaseController
         super.release();
 
         logoTexture.dispose();
-
-        for(Texture texture : settingsMenuItemTextures)
-        {
-            texture.dispose();
-        }
-
-        backButtonTexture.dispose();
     }
 
-    private void createTextures(int index, Texture[] textures, String[] values)
+    /**
+     * Returns color of a setting value.
+     * @param enabled is whether the value is set.
+     */
+    private int getColor(boolean enabled)
     {
-        int i = 0;
-        int color = colorTitle;
-
-        for(String item : values)
-        {
-            if(index == 1)
-            {
-                color = (i == Config.difficulty ? colorEnabled : colorValue);
-            }
-            else if(index == 2)
-            {
-                color = ((i == 0 && Config.sound) || (i == 1 && !Config.sound) ? colorEnabled : colorValue);
-            }
-
-            textures[i] = asset.getTexture(item, color);
-            i++;
-        }
+        return (enabled ? colorEnabled : colorValue);
     }
 
     private void setValue(int value)
@@ -199,7 +185,6 @@ public class SettingsController extends BaseController
         Config.difficulty = value;
         preferences.putInteger(Config.KEY_DIFFICULTY, value);
         preferences.flush();
-        createTextures(1, difficultyValueTextures, difficultyValues);
     }
 
     private void setValue(boolean value)
@@ -208,7 +193,14 @@ public class SettingsController extends BaseController
         Config.sound = value;
         preferences.putBoolean(Config.KEY_SOUND, value);
         preferences.flush();
-        createTextures(2, soundValueTextures, soundValues);
+    }
+
+    private void setMultiBall(boolean value)
+    {
+        asset.playButtonSound();
+        Config.multiBall = value;
+        preferences.putBoolean(Config.KEY_MULTI_BALL, value);
+        preferences.flush();
     }
 
     private InputListener inputListener = new InputListener()
@@ -243,6 +235,14 @@ public class SettingsController extends BaseController
             {
                 setValue(false);
             }
+            else if(multiBallValueBounds[0].contains(x, y))
+            {
+                setMultiBall(true);
+            }
+            else if(multiBallValueBounds[1].contains(x, y))
+            {
+                setMultiBall(false);
+            }
             else if(backButtonBounds.contains(x, y))
             {
                 asset.playButtonSound();
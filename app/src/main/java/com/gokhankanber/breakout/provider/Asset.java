@@ -19,12 +19,24 @@ package com.gokhankanber.breakout.provider;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.gokhankanber.breakout.metrics.Trace;
+import com.gokhankanber.breakout.model.SoundListener;
 
-public class Asset
+public class Asset implements SoundListener
 {
     private static Asset instance;
     private Character characters;
+    private Font font;
     private Sound sound;
+    private final Trace trace = Trace.get();
+
+    // Palette: a texel for each color of models, in a texture shared by all renderers.
+    private final int paletteSize = 16; // texels of a side
+    private final int[] paletteColors = new int[paletteSize * paletteSize];
+    private int paletteColorCount;
+    private Pixmap palettePixmap;
+    private Texture paletteTexture;
 
     private Asset()
     {
@@ -49,115 +61,128 @@ public class Asset
 
     public void dispose()
     {
+        if(font != null)
+        {
+            font.dispose();
+        }
+
         characters.clear();
         sound.releaseAll();
+
+        if(paletteTexture != null)
+        {
+            paletteTexture.dispose();
+            palettePixmap.dispose();
+        }
+
         instance = null;
     }
 
-    public Texture getTexture(Color color)
+    /**
+     * Returns glyph atlas font, which is created on first use and disposed with the asset.
+     */
+    public Font getFont()
     {
-        Pixmap pixel = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
-        pixel.setColor(color);
-        pixel.fill();
-        Texture texture = new Texture(pixel);
-        pixel.dispose();
+        if(font == null)
+        {
+            trace.begin(Trace.Section.CREATE_TEXTURE);
+            font = new Font(characters);
+            trace.end(Trace.Section.CREATE_TEXTURE);
+        }
 
-        return texture;
+        return font;
     }
 
     /**
-     * Creates logo texture: BREAKOUT.
-     * @return texture.
+     * Returns region of a color in the palette texture, so sprites of all colors are drawn from a single texture.
+     * The color is added to the palette on its first use. Palette texture is disposed with the asset, not by users.
+     * @param color of the region.
+     * @return a region of the center of the color's texel, so stretched sprites do not sample a neighbor texel.
      */
-    public Texture getLogoTexture()
+    public TextureRegion getRegion(Color color)
     {
-        int[] pixels = {-856772946, -286347602, -1433752924, -858862940, -288437596, -1433752924, -353718556, -890589468};
+        int rgba = Color.rgba8888(color);
+        int index = 0;
 
-        Pixmap pixmap = new Pixmap(32, 8, Pixmap.Format.RGBA8888);
-        drawPixels(pixmap, pixels, 0x8e8e8eff);
-        Texture texture = new Texture(pixmap);
-        pixmap.dispose();
+        while(index < paletteColorCount && paletteColors[index] != rgba)
+        {
+            index++;
+        }
 
-        return texture;
+        if(index == paletteColorCount)
+        {
+            addPaletteColor(rgba);
+        }
+
+        float u = (index % paletteSize + 0.5f) / paletteSize;
+        float v = (index / paletteSize + 0.5f) / paletteSize;
+
+        return new TextureRegion(paletteTexture, u, v, u, v);
     }
 
     /**
-     * Draws pixels of logo with specified pixel data.
-     * @param pixmap to draw pixels.
-     * @param numbers are pixel data.
-     * @param color is pixel color.
+     * Adds a color to the next texel of the palette, and uploads the palette to its texture.
      */
-    private void drawPixels(Pixmap pixmap, int[] numbers, int color)
+    private void addPaletteColor(int rgba)
     {
-        int length = numbers.length;
+        if(paletteColorCount == paletteColors.length)
+        {
+            throw new IllegalStateException("Palette is full: " + paletteColors.length + " colors");
+        }
 
-        for(int y = 0; y < length; y++)
+        trace.begin(Trace.Section.CREATE_TEXTURE);
+
+        if(paletteTexture == null)
         {
-            for(int i = 31; i >= 0; i--)
-            {
-                if(((numbers[y] >> i) & 1) == 1)
-                {
-                    pixmap.drawPixel((31 - i), y, color);
-                }
-            }
+            palettePixmap = new Pixmap(paletteSize, paletteSize, Pixmap.Format.RGBA8888);
+            palettePixmap.setBlending(Pixmap.Blending.None);
+            paletteTexture = new Texture(palettePixmap);
         }
+
+        int index = paletteColorCount++;
+        paletteColors[index] = rgba;
+        palettePixmap.drawPixel(index % paletteSize, index / paletteSize, rgba);
+        paletteTexture.draw(palettePixmap, 0, 0);
+        trace.end(Trace.Section.CREATE_TEXTURE);
     }
 
     /**
-     * Creates texture for specified text (menu items).
-     * @param text for texture content.
+     * Creates logo texture: BREAKOUT.
      * @return texture.
      */
-    public Texture getTexture(String text, int color)
+    public Texture getLogoTexture()
     {
-        if(text == null)
-        {
-            text = "";
-        }
+        trace.begin(Trace.Section.CREATE_TEXTURE);
+        int[] pixels = {-856772946, -286347602, -1433752924, -858862940, -288437596, -1433752924, -353718556, -890589468};
 
-        Pixmap pixmap = new Pixmap(text.length() * 8, 8, Pixmap.Format.RGBA8888);
-        drawText(pixmap, text, color);
+        Pixmap pixmap = new Pixmap(32, 8, Pixmap.Format.RGBA8888);
+        drawPixels(pixmap, pixels, 0x8e8e8eff);
         Texture texture = new Texture(pixmap);
         pixmap.dispose();
+        trace.end(Trace.Section.CREATE_TEXTURE);
 
         return texture;
     }
 
-    public Texture getTexture(String text)
-    {
-        return getTexture(text, 0xffffffff);
-    }
-
     /**
-     * Draws pixels of characters of specified text.
+     * Draws pixels of logo with specified pixel data.
      * @param pixmap to draw pixels.
-     * @param text data.
+     * @param numbers are pixel data.
+     * @param color is pixel color.
      */
-    private void drawText(Pixmap pixmap, String text, int color)
+    private void drawPixels(Pixmap pixmap, int[] numbers, int color)
     {
-        int index = 0;
+        int length = numbers.length;
 
-        for(char character : text.toCharArray())
+        for(int y = 0; y < length; y++)
         {
-            byte[] bytes = characters.getBytes(character);
-
-            if(bytes != null)
+            for(int i = 31; i >= 0; i--)
             {
-                int length = bytes.length;
-
-                for(int y = 0; y < length; y++)
+                if(((numbers[y] >> i) & 1) == 1)
                 {
-                    for(int i = 7; i >= 0; i--)
-                    {
-                        if(((bytes[y] >> i) & 1) == 1)
-                        {
-                            pixmap.drawPixel(index * 8 + (7 - i), y, color);
-                        }
-                    }
+                    pixmap.drawPixel((31 - i), y, color);
                 }
             }
-
-            index++;
         }
     }
 
@@ -166,6 +191,7 @@ public class Asset
         sound.play(Sound.Track.BUTTON.getIndex());
     }
 
+    @Override
     public void playBrickSound(int index)
     {
         switch(index)
@@ -191,21 +217,25 @@ public class Asset
         }
     }
 
+    @Override
     public void playPaddleSound()
     {
         sound.play(Sound.Track.PADDLE.getIndex());
     }
 
+    @Override
     public void playTopBorderSound()
     {
         sound.play(Sound.Track.TOP_BORDER.getIndex());
     }
 
+    @Override
     public void playSideBorderSound()
     {
         sound.play(Sound.Track.SIDE_BORDER.getIndex());
     }
 
+    @Override
     public void playBallOutSound()
     {
         sound.play(Sound.Track.BALL_OUT.getIndex());
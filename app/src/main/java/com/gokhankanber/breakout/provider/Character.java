@@ -171,6 +171,22 @@ public class Character
         return cMap.get((short) character);
     }
 
+    /**
+     * Returns characters which have bitmaps.
+     */
+    public char[] getCharacters()
+    {
+        char[] characters = new char[cMap.size()];
+        int i = 0;
+
+        for(short key : cMap.keySet())
+        {
+            characters[i++] = (char) key;
+        }
+
+        return characters;
+    }
+
     public void clear()
     {
         if(cMap != null)
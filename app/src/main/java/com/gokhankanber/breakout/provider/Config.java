@@ -18,15 +18,26 @@ package com.gokhankanber.breakout.provider;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Preferences;
+import com.gokhankanber.breakout.BuildConfig;
+import com.gokhankanber.breakout.metrics.Trace;
+import com.gokhankanber.breakout.model.WorldConfig;
 
 public class Config
 {
     public static final float WIDTH = 240;
-    public static final float BALL_ACCELERATION = 50.0f;
     public static final String KEY_DIFFICULTY = "difficulty";
     public static final String KEY_SOUND = "sound";
+    public static final String KEY_MULTI_BALL = "multiBall";
+    public static final String KEY_HUD = "hud";
+    public static final String INPUT_LOG_FILE = "input.log";
+    public static final String SNAPSHOT_FILE = "snapshot.bin";
+    public static final String TRACE_FILE = "trace.json";
+    public static final String HITCHES_FILE = "hitches.csv";
+    public static final float HITCH_BUDGET = 1.5f; // vsync intervals
     public static int difficulty = 1;
     public static boolean sound = true;
+    public static boolean multiBall = false;
+    public static boolean hud = false;
 
     public static float getHeight()
     {
@@ -35,10 +46,27 @@ public class Config
         return WIDTH * ratio;
     }
 
+    /**
+     * Creates world config with viewport size and current settings.
+     */
+    public static WorldConfig getWorldConfig()
+    {
+        WorldConfig config = new WorldConfig();
+        config.width = WIDTH;
+        config.height = getHeight();
+        config.difficulty = difficulty;
+        config.multiBall = multiBall;
+
+        return config;
+    }
+
     public static void load()
     {
         Preferences preferences = Gdx.app.getPreferences(".breakout");
         difficulty = preferences.getInteger(KEY_DIFFICULTY, 1);
         sound = preferences.getBoolean(KEY_SOUND, true);
+        multiBall = preferences.getBoolean(KEY_MULTI_BALL, false);
+        hud = BuildConfig.DEBUG && preferences.getBoolean(KEY_HUD, false); // debug builds only
+        Trace.get().setEnabled(hud);
     }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.provider;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * Glyph atlas of {@link Character} bitmaps, which is created once and shared by all screens through {@link Asset}.
+ * Text is drawn as a quad for each glyph, tinted by batch color, so new strings and colors do not create textures.
+ */
+public class Font
+{
+    private final int glyphSize = 8;
+    private final int cellSize = glyphSize + 1; // A texel gap between glyphs, so scaled glyphs do not sample a neighbor.
+    private final int columns = 16;
+    private final Color tint = new Color();
+    private Texture texture;
+    private TextureRegion[] glyphs;
+
+    /**
+     * Draws white glyphs of all characters to the atlas texture.
+     */
+    public Font(Character characters)
+    {
+        char[] chars = characters.getCharacters();
+        int rows = (chars.length + columns - 1) / columns;
+        char last = 0;
+
+        for(char c : chars)
+        {
+            last = (c > last ? c : last);
+        }
+
+        Pixmap pixmap = new Pixmap(columns * cellSize, rows * cellSize, Pixmap.Format.RGBA8888);
+
+        for(int i = 0; i < chars.length; i++)
+        {
+            drawGlyph(pixmap, characters.getBytes(chars[i]), (i % columns) * cellSize, (i / columns) * cellSize);
+        }
+
+        texture = new Texture(pixmap);
+        pixmap.dispose();
+        glyphs = new TextureRegion[last + 1];
+
+        for(int i = 0; i < chars.length; i++)
+        {
+            glyphs[chars[i]] = new TextureRegion(texture, (i % columns) * cellSize, (i / columns) * cellSize, glyphSize, glyphSize);
+        }
+    }
+
+    /**
+     * Draws text with a quad for each glyph. Characters without a glyph are left as spaces.
+     * @param batch which is begun.
+     * @param text to draw.
+     * @param x is left edge of the text.
+     * @param y is bottom edge of the text.
+     * @param size is width and height of a glyph.
+     * @param color is RGBA8888 color of the text.
+     */
+    public void draw(SpriteBatch batch, CharSequence text, float x, float y, float size, int color)
+    {
+        setColor(batch, color);
+
+        for(int i = 0; i < text.length(); i++)
+        {
+            drawGlyph(batch, text.charAt(i), x + i * size, y, size);
+        }
+
+        batch.setColor(Color.WHITE);
+    }
+
+    /**
+     * Draws the first characters of a char array, e.g. a reused line buffer.
+     * @param length is number of characters to draw.
+     */
+    public void draw(SpriteBatch batch, char[] text, int length, float x, float y, float size, int color)
+    {
+        setColor(batch, color);
+
+        for(int i = 0; i < length; i++)
+        {
+            drawGlyph(batch, text[i], x + i * size, y, size);
+        }
+
+        batch.setColor(Color.WHITE);
+    }
+
+    public void dispose()
+    {
+        texture.dispose();
+    }
+
+    private void setColor(SpriteBatch batch, int color)
+    {
+        Color.rgba8888ToColor(tint, color);
+        batch.setColor(tint);
+    }
+
+    private void drawGlyph(SpriteBatch batch, char c, float x, float y, float size)
+    {
+        TextureRegion glyph = (c < glyphs.length ? glyphs[c] : null);
+
+        if(glyph != null)
+        {
+            batch.draw(glyph, x, y, size, size);
+        }
+    }
+
+    /**
+     * Draws pixels of a character bitmap, whose bit 7 is the left pixel of a row.
+     */
+    private void drawGlyph(Pixmap pixmap, byte[] bytes, int x, int y)
+    {
+        for(int row = 0; row < bytes.length; row++)
+        {
+            for(int i = 7; i >= 0; i--)
+            {
+                if(((bytes[row] >> i) & 1) == 1)
+                {
+                    pixmap.drawPixel(x + 7 - i, y + row, 0xffffffff);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.gokhankanber.breakout.provider;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.gokhankanber.breakout.model.StateBuffer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps snapshot of the running game in a local file, and writes other local files of the game, e.g. trace and input log.
+ * Writes and deletes run in order on a background thread, so the GL thread does not wait for storage.
+ */
+public class SnapshotStore
+{
+    /**
+     * Writes content of a file on the background thread, so it must only use data which is not changed by the game.
+     */
+    public interface ContentWriter
+    {
+        void write(OutputStream stream) throws IOException;
+    }
+
+    private static SnapshotStore instance;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private SnapshotStore()
+    {
+    }
+
+    public static SnapshotStore get()
+    {
+        if(instance == null)
+        {
+            instance = new SnapshotStore();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Saves a copy of the snapshot.
+     * Writes a temporary file first, so a half written snapshot is never read.
+     */
+    public void save(StateBuffer snapshot)
+    {
+        final byte[] bytes = Arrays.copyOf(snapshot.getData(), snapshot.getLength());
+
+        write(Config.SNAPSHOT_FILE, new ContentWriter()
+        {
+            @Override
+            public void write(OutputStream stream) throws IOException
+            {
+                stream.write(bytes);
+            }
+        });
+    }
+
+    /**
+     * Writes a local file on the background thread.
+     * Writes a temporary file first, so a half written file is never read.
+     * Storage errors, e.g. a full disk, are logged and the temporary file is deleted, so they do not stop the app.
+     * @param fileName is name of the local file.
+     * @param writer writes the content.
+     */
+    public void write(final String fileName, final ContentWriter writer)
+    {
+        executor.execute(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                FileHandle file = Gdx.files.local(fileName + ".tmp");
+                OutputStream out = null;
+
+                try
+                {
+                    out = file.write(false);
+                    writer.write(out);
+                    out.close();
+                    out = null;
+                    file.moveTo(Gdx.files.local(fileName));
+                }
+                catch(IOException e)
+                {
+                    failed(fileName, file, e);
+                }
+                catch(RuntimeException e)
+                {
+                    // libGDX file errors are GdxRuntimeException.
+                    failed(fileName, file, e);
+                }
+                finally
+                {
+                    StreamUtils.closeQuietly(out);
+                }
+            }
+        });
+    }
+
+    public void delete()
+    {
+        executor.execute(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    Gdx.files.local(Config.SNAPSHOT_FILE).delete();
+                }
+                catch(RuntimeException e)
+                {
+                    Gdx.app.error(SnapshotStore.class.getSimpleName(), Config.SNAPSHOT_FILE + " is not deleted", e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Reads the snapshot.
+     * @return the snapshot, or null if there is none or it cannot be read.
+     */
+    public StateBuffer load()
+    {
+        FileHandle file = Gdx.files.local(Config.SNAPSHOT_FILE);
+        byte[] bytes;
+
+        try
+        {
+            if(!file.exists())
+            {
+                return null;
+            }
+
+            bytes = file.readBytes();
+        }
+        catch(RuntimeException e)
+        {
+            Gdx.app.error(SnapshotStore.class.getSimpleName(), Config.SNAPSHOT_FILE + " is not read", e);
+
+            return null;
+        }
+
+        StateBuffer snapshot = new StateBuffer(bytes.length);
+        snapshot.put(bytes, 0, bytes.length);
+
+        return snapshot;
+    }
+
+    /**
+     * Logs a failed write and deletes its temporary file.
+     */
+    private void failed(String fileName, FileHandle file, Exception e)
+    {
+        Gdx.app.error(SnapshotStore.class.getSimpleName(), fileName + " is not saved", e);
+
+        try
+        {
+            file.delete();
+        }
+        catch(RuntimeException deleteError)
+        {
+            Gdx.app.error(SnapshotStore.class.getSimpleName(), fileName + ".tmp is not deleted", deleteError);
+        }
+    }
+}
@@ -19,6 +19,7 @@ package com.gokhankanber.breakout.provider;
 import android.media.AudioFormat;
 import android.media.AudioManager;
 import android.media.AudioTrack;
+import com.gokhankanber.breakout.metrics.Metrics;
 
 public class Sound
 {
@@ -65,6 +66,7 @@ public class Sound
 
     private AudioTrack[] audioTracks;
     private static Sound instance;
+    private final Metrics metrics = Metrics.get();
 
     private Sound()
     {
@@ -116,6 +118,8 @@ public class Sound
 
     public void play(int index)
     {
+        long start = System.nanoTime();
+
         if(audioTracks[index].getPlayState() == AudioTrack.PLAYSTATE_PLAYING)
         {
             audioTracks[index].stop();
@@ -125,6 +129,9 @@ public class Sound
         {
             audioTracks[index].play();
         }
+
+        metrics.increment(Metrics.Counter.SOUNDS);
+        metrics.record(Metrics.Histogram.SOUND_PLAY, System.nanoTime() - start);
     }
 
     public void releaseAll()
@@ -19,11 +19,18 @@ package com.gokhankanber.breakout.view;
 import com.badlogic.gdx.Screen;
 import com.gokhankanber.breakout.Breakout;
 import com.gokhankanber.breakout.controller.BaseController;
+import com.gokhankanber.breakout.metrics.HitchDetector;
+import com.gokhankanber.breakout.metrics.Metrics;
+import com.gokhankanber.breakout.metrics.Trace;
 
 public abstract class BaseScreen implements Screen
 {
     protected Breakout game;
     protected BaseController controller;
+    private final Metrics metrics = Metrics.get();
+    private final Trace trace = Trace.get();
+    private final HitchDetector hitchDetector = HitchDetector.get();
+    private final String name = getClass().getSimpleName();
 
     public BaseScreen(Breakout game)
     {
@@ -39,8 +46,34 @@ public abstract class BaseScreen implements Screen
     @Override
     public void render(float delta)
     {
-        controller.update(delta);
+        // Times update and draw phases of the frame.
+        // Controllers update on game time of the clock, and draw on real frame time.
+        hitchDetector.frame(name);
+        trace.begin(Trace.Section.FRAME);
+        long start = System.nanoTime();
+        trace.begin(Trace.Section.UPDATE);
+        game.getClock().tick(delta);
+        controller.update(game.getClock());
+        trace.end(Trace.Section.UPDATE);
+
+        // Update may change the screen, which releases the controller, so it is not drawn.
+        if(game.getScreen() != this)
+        {
+            trace.end(Trace.Section.FRAME);
+
+            return;
+        }
+        long updated = System.nanoTime();
+        trace.begin(Trace.Section.DRAW);
         controller.draw(delta);
+        trace.end(Trace.Section.DRAW);
+        long drawn = System.nanoTime();
+        trace.end(Trace.Section.FRAME);
+
+        metrics.increment(Metrics.Counter.FRAMES);
+        metrics.record(Metrics.Histogram.UPDATE, updated - start);
+        metrics.record(Metrics.Histogram.DRAW, drawn - updated);
+        metrics.record(Metrics.Histogram.FRAME, drawn - start);
     }
 
     @Override
@@ -51,6 +84,7 @@ public abstract class BaseScreen implements Screen
     @Override
     public void pause()
     {
+        controller.pause();
     }
 
     @Override
@@ -18,6 +18,7 @@ package com.gokhankanber.breakout.view;
 
 import com.gokhankanber.breakout.Breakout;
 import com.gokhankanber.breakout.controller.game.GameController;
+import com.gokhankanber.breakout.model.StateBuffer;
 
 public class GameScreen extends BaseScreen
 {
@@ -25,6 +26,17 @@ public class GameScreen extends BaseScreen
     {
         super(game);
 
-        controller = new GameController(game);
+        controller = new GameController(game, null);
+    }
+
+    /**
+     * Restores a game which is lost when the process is killed in background.
+     * @param snapshot of the game.
+     */
+    public GameScreen(Breakout game, StateBuffer snapshot)
+    {
+        super(game);
+
+        controller = new GameController(game, snapshot);
     }
 }
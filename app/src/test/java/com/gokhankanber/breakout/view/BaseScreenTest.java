@@ -0,0 +1,127 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.view;
+
+import com.badlogic.gdx.Screen;
+import com.gokhankanber.breakout.Breakout;
+import com.gokhankanber.breakout.controller.BaseController;
+import com.gokhankanber.breakout.model.Clock;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that a controller which leaves its screen in update, e.g. by exit of the game menu, is not drawn after it is released.
+ */
+public class BaseScreenTest
+{
+    @Test
+    public void releasedControllerIsNotDrawn()
+    {
+        TestGame game = new TestGame();
+        TestScreen menu = new TestScreen(game, null);
+        TestScreen screen = new TestScreen(game, menu);
+        game.setScreen(screen);
+
+        screen.render(0.016f);
+
+        assertTrue(screen.controller.released);
+        assertFalse(screen.controller.drawnAfterRelease);
+        assertTrue(game.getScreen() == menu);
+    }
+
+    /**
+     * Game which changes screens without a graphics backend.
+     */
+    private static class TestGame extends Breakout
+    {
+        TestGame()
+        {
+            super(null);
+        }
+
+        @Override
+        public void setScreen(Screen screen)
+        {
+            if(this.screen != null)
+            {
+                this.screen.hide();
+            }
+
+            this.screen = screen;
+            screen.show();
+        }
+    }
+
+    private static class TestScreen extends BaseScreen
+    {
+        final TestController controller;
+
+        TestScreen(Breakout game, Screen next)
+        {
+            super(game);
+
+            controller = new TestController(game, next);
+            super.controller = controller;
+        }
+    }
+
+    /**
+     * Controller which changes to the next screen in update, as exit of the game menu does.
+     */
+    private static class TestController extends BaseController
+    {
+        private final Screen next;
+        boolean released;
+        boolean drawnAfterRelease;
+
+        TestController(Breakout game, Screen next)
+        {
+            super(game);
+
+            this.next = next;
+        }
+
+        @Override
+        public void init()
+        {
+        }
+
+        @Override
+        public void update(Clock clock)
+        {
+            if(next != null)
+            {
+                game.setScreen(next);
+            }
+        }
+
+        @Override
+        public void draw(float delta)
+        {
+            drawnAfterRelease |= released;
+        }
+
+        @Override
+        public void release()
+        {
+            released = true;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.model;
+
+/**
+ * Creates worlds for benchmarks and plays them with a paddle which follows the first ball.
+ */
+public class BenchmarkWorld
+{
+    /**
+     * Creates a started world.
+     * @param wallSize is rows and columns of the wall, e.g. 6x18.
+     * @param ballSpeed is start speed of a ball.
+     * @param difficulty is 0 (easy), 1 (normal) or 2 (hard).
+     */
+    public static World create(String wallSize, float ballSpeed, int difficulty)
+    {
+        int separator = wallSize.indexOf('x');
+        WorldConfig config = new WorldConfig();
+        config.brickRows = Integer.parseInt(wallSize.substring(0, separator));
+        config.rowBrickCount = Integer.parseInt(wallSize.substring(separator + 1));
+        config.ballSpeed = ballSpeed;
+        config.difficulty = difficulty;
+
+        World world = new World(config, SoundListener.SILENT);
+        world.resume();
+
+        return world;
+    }
+
+    /**
+     * Moves paddle under the first ball and runs a simulation step.
+     * Starts a new game when the game is over.
+     */
+    public static void tick(World world, float stepTime)
+    {
+        Paddle paddle = world.getPaddle();
+        Balls balls = world.getBalls();
+        paddle.move(balls.getX(0) + balls.getWidth() / 2 - paddle.getCenter());
+        world.update(stepTime);
+
+        if(world.isEnding())
+        {
+            world.newGame();
+            world.resume();
+        }
+    }
+}
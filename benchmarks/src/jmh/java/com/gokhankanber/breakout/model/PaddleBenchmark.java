@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of moving paddle by touch input, including world bounds check.
+ * Moves paddle back and forth across the world.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaddleBenchmark
+{
+    @Param({"0", "1", "2"})
+    public int difficulty;
+
+    private Paddle paddle;
+    private float amount;
+
+    @Setup
+    public void setUp()
+    {
+        paddle = BenchmarkWorld.create("6x18", 50, difficulty).getPaddle();
+        amount = 7;
+    }
+
+    @Benchmark
+    public float move()
+    {
+        float x = paddle.getX();
+        paddle.move(amount);
+
+        // Turn back at the side blocks.
+        if(paddle.getX() == x)
+        {
+            amount = -amount;
+        }
+
+        return paddle.getX();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of removing a brick: wall removal, then score, speed brick, and wall refill on round change.
+ * Removes bricks in wall order and starts a new game when the wall is cleared twice.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RemoveBrickBenchmark
+{
+    @Param({"6x18", "24x36", "48x72"})
+    public String wallSize;
+
+    @Param({"0", "1", "2"})
+    public int difficulty;
+
+    private World world;
+    private BrickGrid wall;
+    private int cursor;
+
+    @Setup(Level.Iteration)
+    public void setUp()
+    {
+        world = BenchmarkWorld.create(wallSize, 50, difficulty);
+        wall = world.getWall();
+        cursor = 0;
+    }
+
+    @Benchmark
+    public int removeBrick()
+    {
+        int cell = wall.next(cursor);
+
+        if(cell < 0)
+        {
+            cell = wall.next(0);
+        }
+
+        world.hitBrick(0, cell / wall.getColumns(), cell % wall.getColumns());
+        world.applyHits();
+        cursor = cell + 1;
+
+        if(world.isEnding())
+        {
+            world.newGame();
+            world.resume();
+            cursor = 0;
+        }
+
+        return world.getPaddle().points;
+    }
+}
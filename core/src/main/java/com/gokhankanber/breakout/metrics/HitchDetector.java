@@ -0,0 +1,270 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Flags frames which take longer than a budget, and keeps the last hitches in a ring buffer.
+ * A hitch record has frame interval, GC count and time of the interval, world rebuilds and created walls
+ * from {@link Metrics}, and the active screen, so a stutter can be attributed to its cause.
+ * GC numbers are read from GarbageCollectorMXBean where it is available, and are -1 otherwise (e.g. on Android).
+ */
+public class HitchDetector
+{
+    private static final int CAPACITY = 64; // hitches
+    private static HitchDetector instance;
+    private final Metrics metrics = Metrics.get();
+    private final long[] frames = new long[CAPACITY];
+    private final long[] intervals = new long[CAPACITY];
+    private final long[] gcCounts = new long[CAPACITY];
+    private final long[] gcTimes = new long[CAPACITY];
+    private final long[] worldResets = new long[CAPACITY];
+    private final long[] wallsCreated = new long[CAPACITY];
+    private final String[] screens = new String[CAPACITY];
+    private GarbageCollectorMXBean[] gcBeans;
+    private long budget = 25000000; // nanoseconds
+    private long count;
+    private long frame;
+
+    // Values at the start of the last frame
+    private long lastTime;
+    private long lastGcCount;
+    private long lastGcTime;
+    private long lastWorldResets;
+    private long lastWallsCreated;
+    private String lastScreen;
+
+    private HitchDetector()
+    {
+        try
+        {
+            List<GarbageCollectorMXBean> beans = ManagementFactory.getGarbageCollectorMXBeans();
+            gcBeans = beans.toArray(new GarbageCollectorMXBean[beans.size()]);
+        }
+        catch(LinkageError e)
+        {
+            // java.lang.management is not available.
+            gcBeans = null;
+        }
+    }
+
+    public static HitchDetector get()
+    {
+        if(instance == null)
+        {
+            instance = new HitchDetector();
+        }
+
+        return instance;
+    }
+
+    /**
+     * @param budget is the longest frame interval in nanoseconds which is not a hitch.
+     */
+    public void setBudget(long budget)
+    {
+        this.budget = budget;
+    }
+
+    public long getBudget()
+    {
+        return budget;
+    }
+
+    /**
+     * Marks start of a frame. Records a hitch if the interval since the last frame is over budget.
+     * Rebuilds and GCs of the interval are done by the last frame, so the hitch is recorded with the last screen.
+     * @param screen is name of the active screen.
+     */
+    public void frame(String screen)
+    {
+        long time = System.nanoTime();
+        long gcCount = getGcCount();
+        long gcTime = getGcTime();
+        long resets = metrics.getCount(Metrics.Counter.WORLD_RESETS);
+        long walls = metrics.getCount(Metrics.Counter.WALLS_CREATED);
+
+        if(frame > 0 && time - lastTime > budget)
+        {
+            int index = (int) (count % CAPACITY);
+            frames[index] = frame;
+            intervals[index] = time - lastTime;
+            gcCounts[index] = (gcBeans != null ? gcCount - lastGcCount : -1);
+            gcTimes[index] = (gcBeans != null ? gcTime - lastGcTime : -1);
+            worldResets[index] = resets - lastWorldResets;
+            wallsCreated[index] = walls - lastWallsCreated;
+            screens[index] = lastScreen;
+            count++;
+        }
+
+        frame++;
+        lastTime = time;
+        lastGcCount = gcCount;
+        lastGcTime = gcTime;
+        lastWorldResets = resets;
+        lastWallsCreated = walls;
+        lastScreen = screen;
+    }
+
+    /**
+     * Returns number of hitches since start, including the ones which are dropped from the buffer.
+     */
+    public long getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Returns number of hitches in the buffer.
+     */
+    public int getSize()
+    {
+        return (int) Math.min(count, CAPACITY);
+    }
+
+    /**
+     * Returns index of a hitch in the buffer.
+     * @param hitch is 0 for the oldest kept hitch.
+     */
+    private int index(int hitch)
+    {
+        return (int) ((count - getSize() + hitch) % CAPACITY);
+    }
+
+    public long getFrame(int hitch)
+    {
+        return frames[index(hitch)];
+    }
+
+    /**
+     * Returns frame interval in nanoseconds.
+     */
+    public long getInterval(int hitch)
+    {
+        return intervals[index(hitch)];
+    }
+
+    /**
+     * Returns number of GCs in the frame interval, or -1 if it is not known.
+     */
+    public long getGcCount(int hitch)
+    {
+        return gcCounts[index(hitch)];
+    }
+
+    /**
+     * Returns GC time in milliseconds in the frame interval, or -1 if it is not known.
+     */
+    public long getGcTime(int hitch)
+    {
+        return gcTimes[index(hitch)];
+    }
+
+    public long getWorldResets(int hitch)
+    {
+        return worldResets[index(hitch)];
+    }
+
+    public long getWallsCreated(int hitch)
+    {
+        return wallsCreated[index(hitch)];
+    }
+
+    public String getScreen(int hitch)
+    {
+        return screens[index(hitch)];
+    }
+
+    /**
+     * Writes kept hitches as CSV, oldest first.
+     * @param stream to write, which is not closed.
+     */
+    public void write(OutputStream stream) throws IOException
+    {
+        Writer writer = new OutputStreamWriter(stream, "UTF-8");
+        writer.write("frame,interval ms,budget ms,gc count,gc ms,world resets,walls created,screen\n");
+
+        for(int i = 0; i < getSize(); i++)
+        {
+            writer.write(getFrame(i) + "," + getInterval(i) / 1e6 + "," + budget / 1e6 + "," + getGcCount(i) + "," + getGcTime(i)
+                    + "," + getWorldResets(i) + "," + getWallsCreated(i) + "," + getScreen(i) + "\n");
+        }
+
+        writer.flush();
+    }
+
+    public void clear()
+    {
+        count = 0;
+    }
+
+    /**
+     * Returns a copy of kept hitches and budget, which can be written on another thread while detection goes on.
+     */
+    public HitchDetector copy()
+    {
+        HitchDetector copy = new HitchDetector();
+        System.arraycopy(frames, 0, copy.frames, 0, CAPACITY);
+        System.arraycopy(intervals, 0, copy.intervals, 0, CAPACITY);
+        System.arraycopy(gcCounts, 0, copy.gcCounts, 0, CAPACITY);
+        System.arraycopy(gcTimes, 0, copy.gcTimes, 0, CAPACITY);
+        System.arraycopy(worldResets, 0, copy.worldResets, 0, CAPACITY);
+        System.arraycopy(wallsCreated, 0, copy.wallsCreated, 0, CAPACITY);
+        System.arraycopy(screens, 0, copy.screens, 0, CAPACITY);
+        copy.budget = budget;
+        copy.count = count;
+
+        return copy;
+    }
+
+    private long getGcCount()
+    {
+        long total = 0;
+
+        if(gcBeans != null)
+        {
+            for(int i = 0; i < gcBeans.length; i++)
+            {
+                total += Math.max(0, gcBeans[i].getCollectionCount());
+            }
+        }
+
+        return total;
+    }
+
+    private long getGcTime()
+    {
+        long total = 0;
+
+        if(gcBeans != null)
+        {
+            for(int i = 0; i < gcBeans.length; i++)
+            {
+                total += Math.max(0, gcBeans[i].getCollectionTime());
+            }
+        }
+
+        return total;
+    }
+}
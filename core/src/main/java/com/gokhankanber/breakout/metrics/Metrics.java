@@ -0,0 +1,197 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.metrics;
+
+import java.util.Arrays;
+
+/**
+ * In-process metrics: counters, gauges, and latency histograms, which are backed by primitive arrays.
+ * Recording is an array update without allocation or locking, so it is left on in release builds.
+ * Metrics are recorded and read on the render thread.
+ */
+public class Metrics
+{
+    /**
+     * Totals which only increase.
+     */
+    public enum Counter
+    {
+        FRAMES,
+        TICKS,
+        OVERLAP_TESTS,
+        COLLISIONS,
+        WORLD_RESETS, // cache redefinitions of world renderer
+        WALLS_CREATED,
+        SOUNDS
+    }
+
+    /**
+     * Last values.
+     */
+    public enum Gauge
+    {
+        RENDER_CALLS,
+        CACHE_SPRITES
+    }
+
+    /**
+     * Distributions of durations in nanoseconds, or counts (overlap tests per tick).
+     */
+    public enum Histogram
+    {
+        FRAME,
+        UPDATE,
+        DRAW,
+        RESET_WORLD,
+        SOUND_PLAY,
+        OVERLAP_TESTS,
+        INPUT_LATENCY // from touch event to the end of the first render of its paddle move
+    }
+
+    // Bucket b holds values from 2^(b-1) to 2^b - 1, bucket 0 holds 0. The last bucket holds larger values too.
+    private static final int BUCKETS = 40;
+    private static Metrics instance;
+    private final long[] counters = new long[Counter.values().length];
+    private final long[] gauges = new long[Gauge.values().length];
+    private final long[] buckets = new long[Histogram.values().length * BUCKETS];
+    private final long[] counts = new long[Histogram.values().length];
+    private final long[] sums = new long[Histogram.values().length];
+    private final long[] maxima = new long[Histogram.values().length];
+
+    public static Metrics get()
+    {
+        if(instance == null)
+        {
+            instance = new Metrics();
+        }
+
+        return instance;
+    }
+
+    public void increment(Counter counter)
+    {
+        counters[counter.ordinal()]++;
+    }
+
+    public void add(Counter counter, long value)
+    {
+        counters[counter.ordinal()] += value;
+    }
+
+    public void set(Gauge gauge, long value)
+    {
+        gauges[gauge.ordinal()] = value;
+    }
+
+    /**
+     * Records a value to its power of two bucket.
+     * @param histogram to record to.
+     * @param value is a non-negative duration or count.
+     */
+    public void record(Histogram histogram, long value)
+    {
+        int index = histogram.ordinal();
+        int bucket = Math.min(64 - Long.numberOfLeadingZeros(value), BUCKETS - 1);
+        buckets[index * BUCKETS + bucket]++;
+        counts[index]++;
+        sums[index] += value;
+
+        if(value > maxima[index])
+        {
+            maxima[index] = value;
+        }
+    }
+
+    public long getCount(Counter counter)
+    {
+        return counters[counter.ordinal()];
+    }
+
+    public long getValue(Gauge gauge)
+    {
+        return gauges[gauge.ordinal()];
+    }
+
+    public long getCount(Histogram histogram)
+    {
+        return counts[histogram.ordinal()];
+    }
+
+    public long getMean(Histogram histogram)
+    {
+        int index = histogram.ordinal();
+
+        return (counts[index] == 0 ? 0 : sums[index] / counts[index]);
+    }
+
+    public long getMax(Histogram histogram)
+    {
+        return maxima[histogram.ordinal()];
+    }
+
+    /**
+     * Returns upper bound of the bucket which holds the percentile, limited by the maximum value.
+     * @param histogram to read.
+     * @param fraction is percentile as a fraction, e.g. 0.99.
+     */
+    public long getPercentile(Histogram histogram, double fraction)
+    {
+        int index = histogram.ordinal();
+        long rank = (long) Math.ceil(counts[index] * fraction);
+        long count = 0;
+
+        for(int bucket = 0; bucket < BUCKETS; bucket++)
+        {
+            count += buckets[index * BUCKETS + bucket];
+
+            if(count >= rank && count > 0)
+            {
+                return Math.min((1L << bucket) - 1, maxima[index]);
+            }
+        }
+
+        return maxima[index];
+    }
+
+    /**
+     * Returns number of values in the bucket.
+     * @param histogram to read.
+     * @param bucket is index of the bucket, which holds values up to 2^bucket - 1.
+     */
+    public long getBucket(Histogram histogram, int bucket)
+    {
+        return buckets[histogram.ordinal() * BUCKETS + bucket];
+    }
+
+    public int getBucketCount()
+    {
+        return BUCKETS;
+    }
+
+    /**
+     * Clears all metrics.
+     */
+    public void reset()
+    {
+        Arrays.fill(counters, 0);
+        Arrays.fill(gauges, 0);
+        Arrays.fill(buckets, 0);
+        Arrays.fill(counts, 0);
+        Arrays.fill(sums, 0);
+        Arrays.fill(maxima, 0);
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Records begin and end events of game loop sections into a preallocated ring buffer, when it is enabled.
+ * Buffer is written as Chrome trace event JSON, which can be opened in Perfetto or chrome://tracing.
+ * Events are recorded on the render thread.
+ */
+public class Trace
+{
+    /**
+     * Traced sections with their names in the timeline.
+     */
+    public enum Section
+    {
+        FRAME("BaseScreen.render"),
+        UPDATE("update"),
+        DRAW("draw"),
+        WORLD_UPDATE("World.update"),
+        CHECK_COLLISION("Balls.checkCollision"),
+        RENDER_WORLD("WorldRenderer.render"),
+        RESET_WORLD("WorldRenderer.resetWorld"),
+        SET_SCREEN("Breakout.setScreen"),
+        CREATE_TEXTURE("Asset.getTexture");
+
+        private final String name;
+
+        Section(String name)
+        {
+            this.name = name;
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+    }
+
+    private static final int CAPACITY = 1 << 15; // events
+    private static final byte BEGIN = 0;
+    private static final byte END = 1;
+    private static Trace instance;
+    private final Section[] sections = Section.values();
+    private final long[] times = new long[CAPACITY];
+    private final byte[] types = new byte[CAPACITY];
+    private final byte[] sectionIndexes = new byte[CAPACITY];
+    private long count;
+    private boolean enabled;
+
+    public static Trace get()
+    {
+        if(instance == null)
+        {
+            instance = new Trace();
+        }
+
+        return instance;
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+
+    public void begin(Section section)
+    {
+        if(enabled)
+        {
+            add(BEGIN, section);
+        }
+    }
+
+    public void end(Section section)
+    {
+        if(enabled)
+        {
+            add(END, section);
+        }
+    }
+
+    /**
+     * Returns number of events in the buffer.
+     */
+    public int getSize()
+    {
+        return (int) Math.min(count, CAPACITY);
+    }
+
+    public void clear()
+    {
+        count = 0;
+    }
+
+    /**
+     * Returns a copy of the buffer, which can be written on another thread while recording goes on.
+     */
+    public Trace copy()
+    {
+        Trace copy = new Trace();
+        System.arraycopy(times, 0, copy.times, 0, CAPACITY);
+        System.arraycopy(types, 0, copy.types, 0, CAPACITY);
+        System.arraycopy(sectionIndexes, 0, copy.sectionIndexes, 0, CAPACITY);
+        copy.count = count;
+
+        return copy;
+    }
+
+    /**
+     * Writes events in the buffer as trace event JSON, oldest first.
+     * End events whose begin events are overwritten are skipped.
+     * @param stream to write, which is not closed.
+     */
+    public void write(OutputStream stream) throws IOException
+    {
+        Writer writer = new OutputStreamWriter(stream, "UTF-8");
+        int size = getSize();
+        long first = count - size;
+        long start = (size > 0 ? times[(int) (first & (CAPACITY - 1))] : 0);
+        int depth = 0;
+        boolean separator = false;
+
+        writer.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+
+        for(long i = first; i < count; i++)
+        {
+            int index = (int) (i & (CAPACITY - 1));
+
+            if(types[index] == BEGIN)
+            {
+                depth++;
+            }
+            else if(depth == 0)
+            {
+                continue;
+            }
+            else
+            {
+                depth--;
+            }
+
+            long nanos = times[index] - start;
+
+            if(separator)
+            {
+                writer.write(',');
+            }
+
+            writer.write("\n{\"name\":\"");
+            writer.write(sections[sectionIndexes[index]].getName());
+            writer.write("\",\"ph\":\"");
+            writer.write(types[index] == BEGIN ? 'B' : 'E');
+            writer.write("\",\"pid\":1,\"tid\":1,\"ts\":");
+            writer.write(Long.toString(nanos / 1000));
+            writer.write('.');
+            writer.write(Long.toString(nanos % 1000 + 1000).substring(1));
+            writer.write('}');
+            separator = true;
+        }
+
+        writer.write("\n]}\n");
+        writer.flush();
+    }
+
+    private void add(byte type, Section section)
+    {
+        int index = (int) (count & (CAPACITY - 1));
+        times[index] = System.nanoTime();
+        types[index] = type;
+        sectionIndexes[index] = (byte) section.ordinal();
+        count++;
+    }
+}
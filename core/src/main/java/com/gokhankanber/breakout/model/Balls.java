@@ -0,0 +1,897 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.model;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.gokhankanber.breakout.metrics.Trace;
+
+/**
+ * Balls in play.
+ * Keeps state of the balls in parallel arrays, and updates and collides all live balls in a single loop.
+ */
+public class Balls
+{
+    private final int firstSectionAngle = 15; // 3. section
+    private final int secondSectionAngle = 30; // 2. and 4. sections
+    private final int thirdSectionAngle = 45; // 1. and 5. sections
+    private final int hitAngleIncrement = 5;
+    private final int hitCountOne = 3;
+    private final int hitCountTwo = 7;
+    private final int hitCountThree = 11;
+    private final int hitCountMax = 12;
+    private final float hitCountSpeedRatio = 1.1f;
+    private final int negativeDirection = -1;
+    private final int maxSweepSteps = 8;
+    private final float freeMargin = 1; // covers rounding of straight moves over many steps
+
+    // Ball state
+    private final float startSpeed;
+    private final float width;
+    private final float height;
+    private final Color color;
+    private final float[] x;
+    private final float[] y;
+    private final float[] previousX;
+    private final float[] previousY;
+    private final float[] directionX;
+    private final float[] directionY;
+    private final float[] speed;
+    private final float[] ratio;
+    private final int[] hit;
+    private final int[] hitCountAngle;
+    private final boolean[] speedBrickHit;
+    private final boolean[] out;
+    private int size;
+    private int outCount;
+    private int count;
+
+    // World
+    private IWorld iWorld;
+    private Array<Block> border;
+    private Array<Block> blocks;
+    private BrickGrid wall;
+    private Paddle paddle;
+
+    // Swept collision
+    private enum Hit
+    {
+        NONE,
+        SIDE_BORDER,
+        TOP_BORDER,
+        BRICK,
+        PADDLE
+    }
+
+    private final Sweep sweep = new Sweep();
+    private float delta;
+    private float velocityX;
+    private float velocityY;
+    private Hit hitType;
+    private float hitTime;
+    private float hitNormalX;
+    private float hitNormalY;
+    private Rectangle hitRectangle;
+    private int hitRow;
+    private int hitColumn;
+
+    // Counts of the last update
+    private int overlapTests;
+    private int collisions;
+    private Trace trace;
+
+    /**
+     * @param x coordinate of the first ball.
+     * @param y coordinate of the first ball.
+     * @param width of a ball.
+     * @param height of a ball.
+     * @param color of balls.
+     * @param startSpeed is start speed of a ball.
+     * @param count is number of spare balls.
+     * @param capacity is maximum number of balls in play.
+     */
+    public Balls(float x, float y, float width, float height, String color, float startSpeed, int count, int capacity)
+    {
+        this.startSpeed = startSpeed;
+        this.width = width;
+        this.height = height;
+        this.color = Color.valueOf(color);
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        previousX = new float[capacity];
+        previousY = new float[capacity];
+        directionX = new float[capacity];
+        directionY = new float[capacity];
+        speed = new float[capacity];
+        ratio = new float[capacity];
+        hit = new int[capacity];
+        hitCountAngle = new int[capacity];
+        speedBrickHit = new boolean[capacity];
+        out = new boolean[capacity];
+        reset(x, y, count);
+    }
+
+    public void setListener(IWorld iWorld)
+    {
+        this.iWorld = iWorld;
+        border = iWorld.getBorder();
+        blocks = iWorld.getBlocks();
+        wall = iWorld.getWall();
+        paddle = iWorld.getPaddle();
+    }
+
+    /**
+     * Updates and collides all live balls.
+     * Balls are not added or removed in the loop, so indices stay valid until {@link #removeOut()}.
+     */
+    public void update(float delta)
+    {
+        this.delta = delta;
+        overlapTests = 0;
+        collisions = 0;
+
+        for(int i = 0; i < size; i++)
+        {
+            setVelocity(i);
+
+            // Check collision with bounds.
+            if(trace != null)
+            {
+                trace.begin(Trace.Section.CHECK_COLLISION);
+                checkCollision(i);
+                trace.end(Trace.Section.CHECK_COLLISION);
+            }
+            else
+            {
+                checkCollision(i);
+            }
+
+            // Checks ball position for score.
+            checkWorld(i);
+        }
+    }
+
+    /**
+     * @param trace to record collision checks, or null.
+     */
+    public void setTrace(Trace trace)
+    {
+        this.trace = trace;
+    }
+
+    /**
+     * Returns number of swept overlap tests in the last update.
+     */
+    public int getOverlapTests()
+    {
+        return overlapTests;
+    }
+
+    /**
+     * Returns number of hits to borders, blocks, bricks, and paddle in the last update.
+     */
+    public int getCollisions()
+    {
+        return collisions;
+    }
+
+    /**
+     * Removes balls which are out of the world in the last update.
+     * Notifies world when the last ball is out.
+     */
+    public void removeOut()
+    {
+        if(outCount == 0)
+        {
+            return;
+        }
+
+        // Balls after i are already checked, so the last ball moved to i is never out.
+        for(int i = size - 1; i >= 0; i--)
+        {
+            if(out[i])
+            {
+                out[i] = false;
+                remove(i);
+            }
+        }
+
+        outCount = 0;
+
+        if(size == 0)
+        {
+            iWorld.newBall();
+        }
+    }
+
+    /**
+     * Counts steps in which no ball can hit anything.
+     * Balls fly straight in free space between borders, standing bricks and paddle's reachable band, which spans the world width.
+     * @param delta is step time.
+     * @param maxSteps is upper limit of steps.
+     * @return number of free steps, 0 if a ball may hit something in the next step.
+     */
+    public int getFreeSteps(float delta, int maxSteps)
+    {
+        this.delta = delta;
+        int steps = maxSteps;
+
+        for(int i = 0; i < size && steps > 0; i++)
+        {
+            setVelocity(i);
+            steps = getFreeSteps(i, steps);
+        }
+
+        return steps;
+    }
+
+    /**
+     * Moves balls straight for free steps.
+     * Adds velocity once for each step, so positions are the same as updates without hits.
+     * @param delta is step time.
+     * @param steps is number of free steps found by {@link #getFreeSteps(float, int)}.
+     */
+    public void move(float delta, int steps)
+    {
+        this.delta = delta;
+
+        for(int i = 0; i < size; i++)
+        {
+            setVelocity(i);
+
+            for(int step = 0; step < steps; step++)
+            {
+                previousX[i] = x[i];
+                previousY[i] = y[i];
+                x[i] += velocityX;
+                y[i] += velocityY;
+            }
+        }
+    }
+
+    /**
+     * Keeps current positions as previous positions before a simulation step.
+     */
+    public void savePositions()
+    {
+        System.arraycopy(x, 0, previousX, 0, size);
+        System.arraycopy(y, 0, previousY, 0, size);
+    }
+
+    /**
+     * Resets balls to a single ball after new score.
+     * Paddle hit counters of the first ball, or of the last lost ball, are kept, so paddle angles go on as they were.
+     * @param x coordinate of ball.
+     * @param y coordinate of ball.
+     * @param count is number of spare balls.
+     */
+    public void reset(float x, float y, int count)
+    {
+        int keptHit = hit[0];
+        int keptHitCountAngle = hitCountAngle[0];
+        size = 0;
+        outCount = 0;
+        add(x, y, 1, -1, startSpeed, 1);
+        hit[0] = keptHit;
+        hitCountAngle[0] = keptHitCountAngle;
+        this.count = count;
+    }
+
+    /**
+     * Writes state of live balls and number of spare balls.
+     * If no ball is live, paddle hit counters of the last lost ball are written, since the next reset keeps them.
+     * Previous positions are not written, they are only used to render between steps.
+     */
+    public void save(StateBuffer buffer)
+    {
+        buffer.putVarInt(size);
+        buffer.putVarInt(count);
+
+        if(size == 0)
+        {
+            buffer.putVarInt(hit[0]);
+            buffer.putVarInt(hitCountAngle[0]);
+        }
+
+        for(int i = 0; i < size; i++)
+        {
+            buffer.putFloat(x[i]);
+            buffer.putFloat(y[i]);
+            buffer.putFloat(directionX[i]);
+            buffer.putFloat(directionY[i]);
+            buffer.putFloat(speed[i]);
+            buffer.putFloat(ratio[i]);
+            buffer.putVarInt(hit[i]);
+            buffer.putVarInt(hitCountAngle[i]);
+            buffer.putBoolean(speedBrickHit[i]);
+        }
+    }
+
+    /**
+     * Reads state written by {@link #save(StateBuffer)}.
+     */
+    public void load(StateBuffer buffer)
+    {
+        size = buffer.getVarInt();
+        count = buffer.getVarInt();
+        outCount = 0;
+
+        if(size < 0 || size > x.length || count < 0)
+        {
+            throw new IllegalStateException("Invalid ball count " + size + ", " + count);
+        }
+
+        if(size == 0)
+        {
+            hit[0] = buffer.getVarInt();
+            hitCountAngle[0] = buffer.getVarInt();
+        }
+
+        for(int i = 0; i < size; i++)
+        {
+            x[i] = buffer.getFloat();
+            y[i] = buffer.getFloat();
+            previousX[i] = x[i];
+            previousY[i] = y[i];
+            directionX[i] = buffer.getFloat();
+            directionY[i] = buffer.getFloat();
+            speed[i] = buffer.getFloat();
+            ratio[i] = buffer.getFloat();
+            hit[i] = buffer.getVarInt();
+            hitCountAngle[i] = buffer.getVarInt();
+            speedBrickHit[i] = buffer.getBoolean();
+            out[i] = false;
+        }
+    }
+
+    /**
+     * Adds a ball.
+     * @return index of the ball, or -1 if there is no room for another ball.
+     */
+    public int add(float x, float y, float directionX, float directionY, float speed, float ratio)
+    {
+        if(size == this.x.length)
+        {
+            return -1;
+        }
+
+        int i = size++;
+        this.x[i] = x;
+        this.y[i] = y;
+        previousX[i] = x;
+        previousY[i] = y;
+        this.directionX[i] = directionX;
+        this.directionY[i] = directionY;
+        this.speed[i] = speed;
+        this.ratio[i] = ratio;
+        hit[i] = 0;
+        hitCountAngle[i] = 0;
+        speedBrickHit[i] = false;
+        out[i] = false;
+
+        return i;
+    }
+
+    /**
+     * Splits ball into two balls moving to opposite horizontal directions.
+     * @param i is index of the ball.
+     */
+    public void split(int i)
+    {
+        int j = add(x[i], y[i], -directionX[i], directionY[i], speed[i], ratio[i]);
+
+        if(j >= 0)
+        {
+            previousX[j] = previousX[i];
+            previousY[j] = previousY[i];
+            hit[j] = hit[i];
+            hitCountAngle[j] = hitCountAngle[i];
+            speedBrickHit[j] = speedBrickHit[i];
+        }
+    }
+
+    /**
+     * Removes ball by moving the last ball to its place.
+     * @param i is index of the ball.
+     */
+    private void remove(int i)
+    {
+        int last = --size;
+        x[i] = x[last];
+        y[i] = y[last];
+        previousX[i] = previousX[last];
+        previousY[i] = previousY[last];
+        directionX[i] = directionX[last];
+        directionY[i] = directionY[last];
+        speed[i] = speed[last];
+        ratio[i] = ratio[last];
+        hit[i] = hit[last];
+        hitCountAngle[i] = hitCountAngle[last];
+        speedBrickHit[i] = speedBrickHit[last];
+    }
+
+    /**
+     * Returns number of live balls.
+     */
+    public int getSize()
+    {
+        return size;
+    }
+
+    /**
+     * Returns number of spare balls.
+     */
+    public int getCount()
+    {
+        return count;
+    }
+
+    public float getX(int i)
+    {
+        return x[i];
+    }
+
+    public float getY(int i)
+    {
+        return y[i];
+    }
+
+    /**
+     * Returns x coordinate between previous and current simulation steps.
+     * @param alpha is interpolation ratio between 0 (previous) and 1 (current).
+     */
+    public float getX(int i, float alpha)
+    {
+        return previousX[i] + (x[i] - previousX[i]) * alpha;
+    }
+
+    /**
+     * Returns y coordinate between previous and current simulation steps.
+     * @param alpha is interpolation ratio between 0 (previous) and 1 (current).
+     */
+    public float getY(int i, float alpha)
+    {
+        return previousY[i] + (y[i] - previousY[i]) * alpha;
+    }
+
+    public float getWidth()
+    {
+        return width;
+    }
+
+    public float getHeight()
+    {
+        return height;
+    }
+
+    public Color getColor()
+    {
+        return color;
+    }
+
+    public boolean getSpeedBrickHit(int i)
+    {
+        return speedBrickHit[i];
+    }
+
+    public void setSpeedBrickHit(int i, boolean speedBrickHit)
+    {
+        this.speedBrickHit[i] = speedBrickHit;
+    }
+
+    public void speed(int i, float ratio)
+    {
+        if(ratio != 0)
+        {
+            speed[i] *= ratio;
+        }
+    }
+
+    private void checkHit(int i)
+    {
+        hit[i]++;
+
+        int mod = hit[i] % hitCountMax;
+
+        if(mod == hitCountOne || mod == hitCountTwo || mod == hitCountThree)
+        {
+            hitCountAngle[i] += hitAngleIncrement;
+        }
+        else if(mod == 0)
+        {
+            hitCountAngle[i] = 0;
+            speed(i, hitCountSpeedRatio);
+        }
+    }
+
+    private void setVelocity(int i)
+    {
+        if(ratio[i] < 1)
+        {
+            velocityX = directionX[i] * speed[i] * delta * ratio[i];
+            velocityY = directionY[i] * speed[i] * delta;
+        }
+        else
+        {
+            velocityX = directionX[i] * speed[i] * delta;
+            velocityY = directionY[i] * speed[i] * delta / ratio[i];
+        }
+    }
+
+    /**
+     * Moves ball by velocity with swept collision checks.
+     * Resolves the earliest hit first, reflects, and carries the remaining movement forward.
+     */
+    private void checkCollision(int i)
+    {
+        // Paddle may have moved onto the ball since the last update.
+        checkCollisionPaddleX(i);
+
+        float remaining = 1;
+
+        for(int step = 0; step < maxSweepSteps && remaining > 0; step++)
+        {
+            float dx = velocityX * remaining;
+            float dy = velocityY * remaining;
+
+            findHit(i, dx, dy);
+
+            if(hitType == Hit.NONE)
+            {
+                x[i] += dx;
+                y[i] += dy;
+
+                break;
+            }
+
+            // Move to contact point and reflect.
+            collisions++;
+            x[i] += dx * hitTime;
+            y[i] += dy * hitTime;
+            remaining *= 1 - hitTime;
+
+            if(hitNormalX != 0)
+            {
+                x[i] = (hitNormalX < 0 ? hitRectangle.x - width : hitRectangle.x + hitRectangle.width);
+            }
+            else
+            {
+                y[i] = (hitNormalY < 0 ? hitRectangle.y - height : hitRectangle.y + hitRectangle.height);
+            }
+
+            switch(hitType)
+            {
+                case SIDE_BORDER:
+                    directionX[i] *= negativeDirection;
+                    iWorld.playSideBorderSound();
+                    break;
+                case TOP_BORDER:
+                    directionY[i] *= negativeDirection;
+                    iWorld.playTopBorderSound();
+                    break;
+                case BRICK:
+                    reflect(i);
+                    iWorld.hitBrick(i, hitRow, hitColumn);
+                    break;
+                case PADDLE:
+                    if(hitNormalX != 0)
+                    {
+                        hitPaddleX(i);
+                    }
+                    else
+                    {
+                        hitPaddleY(i);
+                    }
+                    break;
+            }
+
+            // Speed or angle may be changed by the hit.
+            setVelocity(i);
+        }
+    }
+
+    /**
+     * Finds steps until the ball leaves free space, or its swept bounds touch a standing brick cell.
+     */
+    private int getFreeSteps(int i, int maxSteps)
+    {
+        Rectangle left = border.get(0).bounds;
+        Rectangle right = border.get(2).bounds;
+        Rectangle top = border.get(1).bounds;
+        float freeLeft = left.x + left.width + freeMargin;
+        float freeRight = right.x - freeMargin;
+        float freeTop = top.y - freeMargin;
+        float freeBottom = Math.max(paddle.bounds.y + paddle.bounds.height, blocks.get(0).bounds.y + blocks.get(0).bounds.height) + freeMargin;
+
+        if(x[i] < freeLeft || x[i] + width > freeRight || y[i] < freeBottom || y[i] + height > freeTop)
+        {
+            return 0;
+        }
+
+        // Steps until leaving free space.
+        float steps = maxSteps;
+
+        if(velocityX > 0)
+        {
+            steps = Math.min(steps, (freeRight - x[i] - width) / velocityX);
+        }
+        else if(velocityX < 0)
+        {
+            steps = Math.min(steps, (freeLeft - x[i]) / velocityX);
+        }
+
+        if(velocityY > 0)
+        {
+            steps = Math.min(steps, (freeTop - y[i] - height) / velocityY);
+        }
+        else if(velocityY < 0)
+        {
+            steps = Math.min(steps, (freeBottom - y[i]) / velocityY);
+        }
+
+        int freeSteps = (int) steps;
+
+        if(freeSteps == 0 || wall.size() == 0)
+        {
+            return freeSteps;
+        }
+
+        // Jump to the step which enters the wall, then check standing bricks step by step.
+        float boxX = x[i] - freeMargin;
+        float boxY = y[i] - freeMargin;
+        float boxWidth = width + 2 * freeMargin;
+        float boxHeight = height + 2 * freeMargin;
+        int firstStep = 1;
+
+        if(!wall.overlaps(boxX, boxY, boxWidth, boxHeight))
+        {
+            if(!sweep.test(boxX, boxY, boxWidth, boxHeight, velocityX * freeSteps, velocityY * freeSteps, wall.getBounds()))
+            {
+                return freeSteps;
+            }
+
+            firstStep = Math.max(1, (int) (sweep.getTime() * freeSteps));
+        }
+
+        for(int step = firstStep; step <= freeSteps; step++)
+        {
+            float fromX = boxX + velocityX * (step - 1);
+            float fromY = boxY + velocityY * (step - 1);
+
+            if(wall.isOccupied(Math.min(fromX, fromX + velocityX), Math.min(fromY, fromY + velocityY), boxWidth + Math.abs(velocityX), boxHeight + Math.abs(velocityY)))
+            {
+                return step - 1;
+            }
+        }
+
+        return freeSteps;
+    }
+
+    private void reflect(int i)
+    {
+        if(hitNormalX != 0)
+        {
+            directionX[i] *= negativeDirection;
+        }
+        else
+        {
+            directionY[i] *= negativeDirection;
+        }
+    }
+
+    /**
+     * Finds the earliest hit of the movement.
+     * Borders and blocks are only hit on the axes they were checked before: side borders and blocks on x-axis, top border on y-axis.
+     * @param i is index of the ball.
+     * @param dx is movement in x coordinate.
+     * @param dy is movement in y coordinate.
+     */
+    private void findHit(int i, float dx, float dy)
+    {
+        hitType = Hit.NONE;
+        hitTime = 2;
+
+        // Left and right border, top border.
+        testHit(i, Hit.SIDE_BORDER, border.get(0).bounds, dx, dy, true, false);
+        testHit(i, Hit.SIDE_BORDER, border.get(2).bounds, dx, dy, true, false);
+        testHit(i, Hit.TOP_BORDER, border.get(1).bounds, dx, dy, false, true);
+
+        // Left and right blocks.
+        testHit(i, Hit.SIDE_BORDER, blocks.get(0).bounds, dx, dy, true, false);
+        testHit(i, Hit.SIDE_BORDER, blocks.get(1).bounds, dx, dy, true, false);
+
+        // Wall cells which are touched by swept bounds of the ball.
+        float sweptX = Math.min(x[i], x[i] + dx);
+        float sweptY = Math.min(y[i], y[i] + dy);
+        float sweptWidth = Math.abs(dx) + width;
+        float sweptHeight = Math.abs(dy) + height;
+
+        if(wall.overlaps(sweptX, sweptY, sweptWidth, sweptHeight))
+        {
+            int firstRow = wall.getRow(sweptY + sweptHeight);
+            int lastRow = wall.getRow(sweptY);
+            int firstColumn = wall.getColumn(sweptX);
+            int lastColumn = wall.getColumn(sweptX + sweptWidth);
+
+            for(int row = firstRow; row <= lastRow; row++)
+            {
+                for(int column = firstColumn; column <= lastColumn; column++)
+                {
+                    if(wall.isOccupied(row, column) && testHit(i, Hit.BRICK, wall.get(row, column).bounds, dx, dy, true, true))
+                    {
+                        hitRow = row;
+                        hitColumn = column;
+                    }
+                }
+            }
+        }
+
+        // Paddle.
+        testHit(i, Hit.PADDLE, paddle.bounds, dx, dy, true, true);
+    }
+
+    /**
+     * Keeps the hit if it is earlier than the current one.
+     * @return true if the hit is kept.
+     */
+    private boolean testHit(int i, Hit type, Rectangle rectangle, float dx, float dy, boolean axisX, boolean axisY)
+    {
+        overlapTests++;
+
+        if(sweep.test(x[i], y[i], width, height, dx, dy, rectangle)
+                && sweep.getTime() < hitTime
+                && (sweep.getNormalX() != 0 ? axisX : axisY))
+        {
+            hitType = type;
+            hitTime = sweep.getTime();
+            hitNormalX = sweep.getNormalX();
+            hitNormalY = sweep.getNormalY();
+            hitRectangle = rectangle;
+
+            return true;
+        }
+
+        return false;
+    }
+
+    private float getCenter(int i)
+    {
+        return (x[i] + width / 2);
+    }
+
+    /**
+     * Checks overlap with paddle, when paddle is moved onto the ball.
+     */
+    private void checkCollisionPaddleX(int i)
+    {
+        Rectangle bounds = paddle.bounds;
+
+        if(x[i] < bounds.x + bounds.width && x[i] + width > bounds.x && y[i] < bounds.y + bounds.height && y[i] + height > bounds.y)
+        {
+            float paddleVelocityRatio = Math.abs(paddle.velocity.x) + 1;
+
+            if(velocityX < 0)
+            {
+                if(paddle.velocity.x >= 0)
+                {
+                    x[i] = bounds.x + paddle.getWidth();
+                    directionX[i] *= negativeDirection;
+                }
+                else
+                {
+                    x[i] = bounds.x - width;
+                }
+            }
+            else if(velocityX > 0)
+            {
+                if(paddle.velocity.x <= 0)
+                {
+                    x[i] = bounds.x - width;
+                    directionX[i] *= negativeDirection;
+                }
+                else
+                {
+                    x[i] = bounds.x + paddle.getWidth();
+                }
+            }
+
+            speed(i, paddleVelocityRatio);
+            setVelocity(i);
+            iWorld.playPaddleSound();
+        }
+    }
+
+    /**
+     * Hit on a paddle side.
+     */
+    private void hitPaddleX(int i)
+    {
+        directionX[i] *= negativeDirection;
+        speed(i, Math.abs(paddle.velocity.x) + 1);
+        iWorld.playPaddleSound();
+    }
+
+    /**
+     * Hit on paddle top or bottom.
+     * Sets ball direction according to ball direction and paddle section.
+     * Sets ball angle for each paddle section.
+     */
+    private void hitPaddleY(int i)
+    {
+        checkHit(i);
+        int angle;
+
+        if(getCenter(i) > paddle.bounds.x + 4 * paddle.getSectionWidth())
+        {
+            // last section
+            angle = thirdSectionAngle + hitCountAngle[i];
+
+            if(velocityX < 0)
+            {
+                directionX[i] *= negativeDirection;
+            }
+        }
+        else if(getCenter(i) > paddle.bounds.x + 3 * paddle.getSectionWidth())
+        {
+            angle = secondSectionAngle + hitCountAngle[i];
+
+            if(velocityX < 0)
+            {
+                directionX[i] *= negativeDirection;
+            }
+        }
+        else if(getCenter(i) > paddle.bounds.x + 2 * paddle.getSectionWidth())
+        {
+            angle = firstSectionAngle + hitCountAngle[i];
+        }
+        else if(getCenter(i) > paddle.bounds.x + paddle.getSectionWidth())
+        {
+            angle = secondSectionAngle + hitCountAngle[i];
+
+            if(velocityX > 0)
+            {
+                directionX[i] *= negativeDirection;
+            }
+        }
+        else
+        {
+            angle = thirdSectionAngle + hitCountAngle[i];
+
+            if(velocityX > 0)
+            {
+                directionX[i] *= negativeDirection;
+            }
+        }
+
+        ratio[i] = (float) Math.tan(Math.toRadians(angle));
+        directionY[i] *= negativeDirection;
+        iWorld.playPaddleSound();
+    }
+
+    /**
+     * Marks a ball which is out of the world to be removed after the update.
+     */
+    private void checkWorld(int i)
+    {
+        if(y[i] + height < 0 && !out[i])
+        {
+            out[i] = true;
+            outCount++;
+        }
+    }
+}
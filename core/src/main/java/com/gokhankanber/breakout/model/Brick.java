@@ -24,6 +24,7 @@ public class Brick extends Model
     private int index;
     private int points;
     private boolean speedBrick;
+    private boolean splitBrick;
 
     public Brick(float x, float y, float width, float height, String color)
     {
@@ -59,4 +60,17 @@ public class Brick extends Model
     {
         return speedBrick;
     }
+
+    public void setSplitBrick()
+    {
+        this.splitBrick = true;
+    }
+
+    /**
+     * Split brick splits the ball which hits it into two balls in multi-ball mode.
+     */
+    public boolean isSplitBrick()
+    {
+        return splitBrick;
+    }
 }
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.model;
+
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * Cell-indexed wall of bricks keyed by row and column.
+ * Rows are counted from the top of the wall downwards.
+ * Keeps standing bricks in an occupancy bitset, so removing a brick is O(1).
+ */
+public class BrickGrid
+{
+    private final float x;
+    private final float top;
+    private final float cellWidth;
+    private final float cellHeight;
+    private final int rows;
+    private final int columns;
+    private final Brick[] cells;
+    private final long[] occupancy;
+    private final Rectangle bounds;
+    private int size;
+    private int version;
+
+    /**
+     * @param x is left edge of the wall.
+     * @param top is top edge of the wall.
+     * @param cellWidth is brick width.
+     * @param cellHeight is brick height.
+     * @param rows is number of brick rows.
+     * @param columns is number of bricks in a row.
+     */
+    public BrickGrid(float x, float top, float cellWidth, float cellHeight, int rows, int columns)
+    {
+        this.x = x;
+        this.top = top;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        this.rows = rows;
+        this.columns = columns;
+        cells = new Brick[rows * columns];
+        occupancy = new long[(cells.length + 63) >> 6];
+        bounds = new Rectangle(x, top - rows * cellHeight, columns * cellWidth, rows * cellHeight);
+    }
+
+    public int getRows()
+    {
+        return rows;
+    }
+
+    public int getColumns()
+    {
+        return columns;
+    }
+
+    /**
+     * Returns brick of the cell whether it is standing or not.
+     */
+    public Brick get(int row, int column)
+    {
+        return cells[row * columns + column];
+    }
+
+    public Brick get(int cell)
+    {
+        return cells[cell];
+    }
+
+    /**
+     * Puts a standing brick to the cell.
+     */
+    public void set(int row, int column, Brick brick)
+    {
+        int cell = row * columns + column;
+        cells[cell] = brick;
+        version++;
+
+        if(!isOccupied(cell))
+        {
+            occupancy[cell >> 6] |= 1L << cell;
+            size++;
+        }
+    }
+
+    public boolean isOccupied(int row, int column)
+    {
+        return isOccupied(row * columns + column);
+    }
+
+    public boolean isOccupied(int cell)
+    {
+        return (occupancy[cell >> 6] & (1L << cell)) != 0;
+    }
+
+    /**
+     * Removes brick of the cell. Brick instance is kept for the next round.
+     */
+    public void remove(int row, int column)
+    {
+        int cell = row * columns + column;
+
+        if(isOccupied(cell))
+        {
+            occupancy[cell >> 6] &= ~(1L << cell);
+            size--;
+            version++;
+        }
+    }
+
+    /**
+     * Returns number of standing bricks.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Finds the next standing brick cell.
+     * Usage: for(int cell = grid.next(0); cell >= 0; cell = grid.next(cell + 1))
+     * @param cell to start searching from.
+     * @return cell index (row * columns + column), or -1 if there is no standing brick left.
+     */
+    public int next(int cell)
+    {
+        int word = cell >> 6;
+
+        if(word >= occupancy.length)
+        {
+            return -1;
+        }
+
+        long bits = occupancy[word] & (-1L << cell);
+
+        while(true)
+        {
+            if(bits != 0)
+            {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+
+            if(++word == occupancy.length)
+            {
+                return -1;
+            }
+
+            bits = occupancy[word];
+        }
+    }
+
+    /**
+     * Returns column of x coordinate, clamped to the grid.
+     */
+    public int getColumn(float x)
+    {
+        return clamp((int) Math.floor((x - this.x) / cellWidth), columns);
+    }
+
+    /**
+     * Returns row of y coordinate, clamped to the grid.
+     */
+    public int getRow(float y)
+    {
+        return clamp((int) Math.floor((top - y) / cellHeight), rows);
+    }
+
+    /**
+     * Checks whether the area is vertically and horizontally within the wall.
+     */
+    public boolean overlaps(float x, float y, float width, float height)
+    {
+        return x < this.x + columns * cellWidth && x + width > this.x
+                && y < top && y + height > top - rows * cellHeight;
+    }
+
+    /**
+     * Checks whether any standing brick cell overlaps the area.
+     */
+    public boolean isOccupied(float x, float y, float width, float height)
+    {
+        if(size == 0 || !overlaps(x, y, width, height))
+        {
+            return false;
+        }
+
+        int firstRow = getRow(y + height);
+        int lastRow = getRow(y);
+        int firstColumn = getColumn(x);
+        int lastColumn = getColumn(x + width);
+
+        for(int row = firstRow; row <= lastRow; row++)
+        {
+            for(int column = firstColumn; column <= lastColumn; column++)
+            {
+                if(isOccupied(row, column))
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns bounds of all cells.
+     */
+    public Rectangle getBounds()
+    {
+        return bounds;
+    }
+
+    /**
+     * Writes occupancy bits of the cells.
+     */
+    public void save(StateBuffer buffer)
+    {
+        for(long word : occupancy)
+        {
+            buffer.putLong(word);
+        }
+    }
+
+    /**
+     * Reads occupancy bits written by {@link #save(StateBuffer)}.
+     * Bricks of the cells must be already set.
+     */
+    public void load(StateBuffer buffer)
+    {
+        size = 0;
+
+        for(int i = 0; i < occupancy.length; i++)
+        {
+            occupancy[i] = buffer.getLong();
+            size += Long.bitCount(occupancy[i]);
+        }
+
+        version++;
+    }
+
+    /**
+     * Returns a word of occupancy bits. Bit b of word w is set if cell w * 64 + b is occupied.
+     */
+    public long getOccupancy(int word)
+    {
+        return occupancy[word];
+    }
+
+    public int getOccupancyLength()
+    {
+        return occupancy.length;
+    }
+
+    /**
+     * Returns number of changes of the wall, so a view can tell whether it is changed since it is drawn.
+     */
+    public int getVersion()
+    {
+        return version;
+    }
+
+    private int clamp(int value, int count)
+    {
+        if(value < 0)
+        {
+            return 0;
+        }
+
+        if(value >= count)
+        {
+            return count - 1;
+        }
+
+        return value;
+    }
+}
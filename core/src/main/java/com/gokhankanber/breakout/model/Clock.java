@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.model;
+
+/**
+ * Game time, which is advanced once a frame and read by controllers and the world instead of frame time.
+ * Runs on real frame time, or on a fixed fake frame time which makes runs deterministic regardless of frame rate.
+ * Time scale multiplies either one, e.g. 0.25 for slow motion or 8 for turbo runs.
+ */
+public class Clock
+{
+    private float fixedDelta;
+    private float timeScale = 1;
+    private float delta;
+    private double time;
+    private long frame;
+
+    /**
+     * Creates a clock on real time.
+     */
+    public Clock()
+    {
+    }
+
+    /**
+     * Creates a clock on fake time.
+     * @param fixedDelta is game time of a frame in seconds.
+     */
+    public Clock(float fixedDelta)
+    {
+        this.fixedDelta = fixedDelta;
+    }
+
+    /**
+     * Advances game time by a frame.
+     * @param realDelta is real frame time in seconds, which is ignored on fake time.
+     * @return game time of the frame.
+     */
+    public float tick(float realDelta)
+    {
+        delta = (fixedDelta > 0 ? fixedDelta : realDelta) * timeScale;
+        time += delta;
+        frame++;
+
+        return delta;
+    }
+
+    /**
+     * Returns game time of the current frame in seconds.
+     */
+    public float getDelta()
+    {
+        return delta;
+    }
+
+    /**
+     * Returns game time since the clock is created in seconds.
+     */
+    public double getTime()
+    {
+        return time;
+    }
+
+    /**
+     * Returns number of frames since the clock is created.
+     */
+    public long getFrame()
+    {
+        return frame;
+    }
+
+    public float getFixedDelta()
+    {
+        return fixedDelta;
+    }
+
+    /**
+     * @param fixedDelta is game time of a frame in seconds, or 0 for real time.
+     */
+    public void setFixedDelta(float fixedDelta)
+    {
+        this.fixedDelta = fixedDelta;
+    }
+
+    public float getTimeScale()
+    {
+        return timeScale;
+    }
+
+    /**
+     * @param timeScale is multiplier of frame time, 1 for normal speed.
+     */
+    public void setTimeScale(float timeScale)
+    {
+        this.timeScale = timeScale;
+    }
+}
@@ -26,9 +26,9 @@ public interface IWorld
     Paddle getPaddle();
     Array<Block> getBorder();
     Array<Block> getBlocks();
-    Array<Brick> getWall();
+    BrickGrid getWall();
     void newBall();
-    void removeBrick(int index, int number);
+    void hitBrick(int ball, int row, int column);
     void playPaddleSound();
     void playTopBorderSound();
     void playSideBorderSound();
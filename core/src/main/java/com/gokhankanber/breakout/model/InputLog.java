@@ -0,0 +1,309 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.model;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Compact binary log of user input commands of a world, stamped with simulation steps (ticks).
+ * An event is tick change since the previous event (var int), command (byte), and amount (float) for move commands.
+ * Keeps world state keyframes at an interval, so a replay can seek without simulating from the start.
+ * Memory is fixed: when the log is full, it starts again from a keyframe of the current state, so it keeps the latest part of the game.
+ */
+public class InputLog
+{
+    /**
+     * Commands which change the world by user input.
+     */
+    public enum Command
+    {
+        MOVE,
+        RESUME,
+        PAUSE,
+        NEW_GAME,
+        END
+    }
+
+    private static final int MAGIC = 0x42524b4c; // BRKL
+    private static final int VERSION = 3;
+    private final int maxEventSize = 10;
+    private final Command[] commands = Command.values();
+    private final WorldConfig config;
+    private final int keyframeInterval;
+    private final int capacity;
+    private final StateBuffer events;
+    private final StateBuffer keyframes;
+    private final int[] keyframeOffsets;
+    private int keyframeCount;
+    private int keyframeSize;
+    private int lastTick;
+    private int endTick;
+    private int nextKeyframeTick;
+
+    /**
+     * @param config of the recorded world.
+     * @param keyframeInterval is number of ticks between keyframes.
+     * @param capacity is size of events and keyframes in bytes each.
+     */
+    public InputLog(WorldConfig config, int keyframeInterval, int capacity)
+    {
+        this.config = config;
+        this.keyframeInterval = keyframeInterval;
+        this.capacity = capacity;
+        events = new StateBuffer(capacity);
+        keyframes = new StateBuffer(capacity);
+        keyframeOffsets = new int[capacity / 32];
+    }
+
+    public WorldConfig getConfig()
+    {
+        return config;
+    }
+
+    /**
+     * Records a command at the current tick of the world.
+     * @param world is the recorded world.
+     * @param command is user input.
+     * @param amount is change in x coordinate for move command.
+     */
+    public void record(World world, Command command, float amount)
+    {
+        if(events.getLength() + maxEventSize > capacity)
+        {
+            restart(world);
+        }
+
+        int tick = world.getTick();
+        events.putVarInt(tick - lastTick);
+        events.putByte(command.ordinal());
+
+        if(command == Command.MOVE)
+        {
+            events.putFloat(amount);
+        }
+
+        lastTick = tick;
+    }
+
+    /**
+     * Adds a keyframe when keyframe interval is passed since the last one.
+     * @param world is the recorded world after a step.
+     */
+    public void update(World world)
+    {
+        endTick = world.getTick();
+
+        if(world.getTick() >= nextKeyframeTick)
+        {
+            // Room for a keyframe twice as large as the last one, since number of balls may change.
+            if(keyframeCount == keyframeOffsets.length || keyframes.getLength() + 2 * keyframeSize > capacity)
+            {
+                restart(world);
+            }
+            else
+            {
+                addKeyframe(world);
+            }
+        }
+    }
+
+    /**
+     * Adds a keyframe: tick, position and tick of the next event, and world state.
+     */
+    public void addKeyframe(World world)
+    {
+        int offset = keyframes.getLength();
+        keyframeOffsets[keyframeCount++] = offset;
+        endTick = world.getTick();
+        keyframes.putInt(endTick);
+        keyframes.putInt(events.getLength());
+        keyframes.putInt(lastTick);
+        world.save(keyframes);
+        keyframeSize = keyframes.getLength() - offset;
+        nextKeyframeTick = world.getTick() + keyframeInterval;
+    }
+
+    /**
+     * Drops recorded events and keyframes, and starts again from a keyframe of the current state.
+     */
+    public void restart(World world)
+    {
+        events.clear();
+        keyframes.clear();
+        keyframeCount = 0;
+        lastTick = world.getTick();
+        addKeyframe(world);
+    }
+
+    /**
+     * Returns tick of the last recorded step.
+     */
+    public int getEndTick()
+    {
+        return endTick;
+    }
+
+    /**
+     * Returns events buffer, which is read by replays.
+     */
+    public StateBuffer getEvents()
+    {
+        return events;
+    }
+
+    /**
+     * Reads command of the event at the read position of events buffer.
+     */
+    public Command getCommand()
+    {
+        return commands[events.getByte()];
+    }
+
+    public int getKeyframeCount()
+    {
+        return keyframeCount;
+    }
+
+    /**
+     * Finds the last keyframe at or before the tick.
+     * @return index of the keyframe, or -1 if there is none.
+     */
+    public int findKeyframe(int tick)
+    {
+        int low = 0;
+        int high = keyframeCount - 1;
+        int found = -1;
+
+        while(low <= high)
+        {
+            int middle = (low + high) >>> 1;
+
+            if(getKeyframeTick(middle) <= tick)
+            {
+                found = middle;
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle - 1;
+            }
+        }
+
+        return found;
+    }
+
+    public int getKeyframeTick(int keyframe)
+    {
+        return keyframes.getInt(keyframeOffsets[keyframe]);
+    }
+
+    /**
+     * Returns position of the first event after the keyframe in events buffer.
+     */
+    public int getKeyframeEventPosition(int keyframe)
+    {
+        return keyframes.getInt(keyframeOffsets[keyframe] + 4);
+    }
+
+    /**
+     * Returns tick of the last event before the keyframe, which next event's tick change is relative to.
+     */
+    public int getKeyframeEventTick(int keyframe)
+    {
+        return keyframes.getInt(keyframeOffsets[keyframe] + 8);
+    }
+
+    /**
+     * Loads world state of the keyframe.
+     */
+    public void loadKeyframe(int keyframe, World world)
+    {
+        keyframes.setPosition(keyframeOffsets[keyframe] + 12);
+        world.load(keyframes);
+    }
+
+    /**
+     * Writes header, world config, events and keyframes.
+     */
+    public void write(OutputStream stream) throws IOException
+    {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        StateBuffer configBuffer = new StateBuffer(32);
+        config.save(configBuffer);
+        configBuffer.write(out);
+        out.writeInt(keyframeInterval);
+        out.writeInt(lastTick);
+        out.writeInt(endTick);
+        events.write(out);
+        out.writeInt(keyframeCount);
+
+        for(int i = 0; i < keyframeCount; i++)
+        {
+            out.writeInt(keyframeOffsets[i]);
+        }
+
+        keyframes.write(out);
+        out.flush();
+    }
+
+    /**
+     * Reads a log written by {@link #write(OutputStream)}.
+     * @throws IOException if the stream is not an input log of this version.
+     */
+    public static InputLog read(InputStream stream) throws IOException
+    {
+        DataInputStream in = new DataInputStream(stream);
+
+        if(in.readInt() != MAGIC || in.readByte() != VERSION)
+        {
+            throw new IOException("Not an input log of version " + VERSION);
+        }
+
+        StateBuffer configBuffer = new StateBuffer(32);
+        configBuffer.read(in);
+        WorldConfig config = new WorldConfig();
+        config.load(configBuffer);
+
+        int keyframeInterval = in.readInt();
+        int lastTick = in.readInt();
+        int endTick = in.readInt();
+        StateBuffer events = new StateBuffer(1024);
+        events.read(in);
+        int keyframeCount = in.readInt();
+
+        InputLog log = new InputLog(config, keyframeInterval, Math.max(events.getLength(), 32 * keyframeCount));
+        log.lastTick = lastTick;
+        log.endTick = endTick;
+        log.events.put(events.getData(), 0, events.getLength());
+        log.keyframeCount = keyframeCount;
+
+        for(int i = 0; i < log.keyframeCount; i++)
+        {
+            log.keyframeOffsets[i] = in.readInt();
+        }
+
+        log.keyframes.read(in);
+
+        return log;
+    }
+}
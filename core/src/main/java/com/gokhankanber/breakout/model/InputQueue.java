@@ -0,0 +1,144 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.model;
+
+/**
+ * Ring buffer of touch and key events with their times, written by input callbacks and drained once a frame.
+ * Positions are kept in screen coordinates, so no camera work is done per event.
+ * A drag following a drag is coalesced into it, which keeps the time of the first and the position of the last. Other events keep their order.
+ * libGDX dispatches input events on the render thread, so the buffer is not synchronized.
+ */
+public class InputQueue
+{
+    public enum Type
+    {
+        DOWN,
+        DRAG,
+        UP,
+        BACK
+    }
+
+    private final int capacity;
+    private final Type[] types;
+    private final long[] times;
+    private final int[] xs;
+    private final int[] ys;
+    private int first;
+    private int size;
+    private int startX; // x coordinate of the last touch down or drag
+
+    /**
+     * @param capacity is maximum number of events between drains.
+     */
+    public InputQueue(int capacity)
+    {
+        this.capacity = capacity;
+        types = new Type[capacity];
+        times = new long[capacity];
+        xs = new int[capacity];
+        ys = new int[capacity];
+    }
+
+    /**
+     * Adds an event at the current time, or coalesces a drag into the last event if it is a drag too.
+     * @param x is screen x coordinate.
+     * @param y is screen y coordinate.
+     * @return false if the queue is full and the event is dropped.
+     */
+    public boolean add(Type type, int x, int y)
+    {
+        if(type == Type.DRAG && size > 0 && types[index(size - 1)] == Type.DRAG)
+        {
+            int last = index(size - 1);
+            xs[last] = x;
+            ys[last] = y;
+
+            return true;
+        }
+
+        if(size == capacity)
+        {
+            return false;
+        }
+
+        int index = index(size++);
+        types[index] = type;
+        times[index] = System.nanoTime();
+        xs[index] = x;
+        ys[index] = y;
+
+        return true;
+    }
+
+    public int getSize()
+    {
+        return size;
+    }
+
+    /**
+     * Dispatches queued events to the listener in order, and removes them.
+     * Drags are converted to change in x coordinate of world by scale, so only clicks need camera work.
+     * @param scale is world units per screen pixel.
+     */
+    public void drain(float scale, Listener listener)
+    {
+        for(int i = 0; i < size; i++)
+        {
+            int index = index(i);
+
+            switch(types[index])
+            {
+                case DOWN:
+                    startX = xs[index];
+                    break;
+                case DRAG:
+                    listener.move((xs[index] - startX) * scale, times[index]);
+                    startX = xs[index];
+                    break;
+                case UP:
+                    listener.click(xs[index], ys[index]);
+                    break;
+                case BACK:
+                    listener.back();
+                    break;
+            }
+        }
+
+        clear();
+    }
+
+    /**
+     * Removes drained events.
+     */
+    public void clear()
+    {
+        first = index(size);
+        size = 0;
+    }
+
+    private int index(int i)
+    {
+        return (first + i) % capacity;
+    }
+
+    public interface Listener
+    {
+        void move(float amount, long time);
+        void click(int screenX, int screenY);
+        void back();
+    }
+}
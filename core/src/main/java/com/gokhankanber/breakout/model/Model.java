@@ -23,7 +23,6 @@ import com.badlogic.gdx.math.Vector2;
 public class Model
 {
     protected Rectangle bounds;
-    protected float stateTime;
     protected Vector2 position;
     protected Vector2 acceleration;
     protected Vector2 direction;
@@ -124,11 +123,6 @@ public class Model
         return color;
     }
 
-    public void resetStateTime()
-    {
-        stateTime = 0;
-    }
-
     public void update(float delta)
     {
     }
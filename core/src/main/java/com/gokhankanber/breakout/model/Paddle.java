@@ -16,8 +16,6 @@
 
 package com.gokhankanber.breakout.model;
 
-import com.gokhankanber.breakout.provider.Config;
-
 public class Paddle extends Model
 {
     // Score
@@ -64,14 +62,34 @@ public class Paddle extends Model
         setPosition(bounds.x, bounds.y);
     }
 
+    /**
+     * Writes position, velocity and points.
+     */
+    public void save(StateBuffer buffer)
+    {
+        buffer.putFloat(bounds.x);
+        buffer.putFloat(velocity.x);
+        buffer.putVarInt(points);
+    }
+
+    /**
+     * Reads state written by {@link #save(StateBuffer)}.
+     */
+    public void load(StateBuffer buffer)
+    {
+        setPosition(buffer.getFloat(), bounds.y);
+        velocity.x = buffer.getFloat();
+        points = buffer.getVarInt();
+    }
+
     /**
      * Checks bounds of paddle in x coordinate to stay paddle in world.
      */
     public void checkWorld()
     {
-        if(bounds.x + bounds.width > Config.WIDTH - rightBlock.getWidth())
+        if(bounds.x + bounds.width > rightBlock.getX())
         {
-            bounds.x = Config.WIDTH - rightBlock.getWidth() - bounds.width;
+            bounds.x = rightBlock.getX() - bounds.width;
         }
         else if(bounds.x < leftBlock.getWidth())
         {
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.model;
+
+/**
+ * Plays an input log back into a new world.
+ * Applies each recorded command at its tick between simulation steps, so the game is reproduced bit for bit.
+ * Seeks by loading the last keyframe before a tick and playing from there.
+ */
+public class Replay
+{
+    private final InputLog log;
+    private final StateBuffer events;
+    private final World world;
+    private int eventTick;
+
+    /**
+     * @param log is the recorded input log.
+     * @param soundListener plays sounds of the replayed world.
+     */
+    public Replay(InputLog log, SoundListener soundListener)
+    {
+        this.log = log;
+        events = log.getEvents();
+        world = new World(log.getConfig(), soundListener);
+        seek(0);
+    }
+
+    public World getWorld()
+    {
+        return world;
+    }
+
+    /**
+     * Moves to the state of the world after the step of the tick, before commands of the tick.
+     * @return true if the tick is reached.
+     */
+    public boolean seek(int tick)
+    {
+        int keyframe = Math.max(log.findKeyframe(tick), 0);
+        log.loadKeyframe(keyframe, world);
+        events.setPosition(log.getKeyframeEventPosition(keyframe));
+        eventTick = log.getKeyframeEventTick(keyframe);
+        readEventTick();
+
+        return play(tick);
+    }
+
+    /**
+     * Plays the log forward until the tick.
+     * @return true if the tick is reached, false if the world stopped with no more commands to start it.
+     */
+    public boolean play(int tick)
+    {
+        while(world.getTick() < tick)
+        {
+            applyEvents();
+
+            if(world.advance(Math.min(tick, eventTick) - world.getTick()) == 0)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Plays the log to the last recorded step and applies commands after it.
+     */
+    public void play()
+    {
+        play(log.getEndTick());
+        applyEvents();
+    }
+
+    /**
+     * Applies commands of the current tick.
+     */
+    private void applyEvents()
+    {
+        while(eventTick == world.getTick())
+        {
+            switch(log.getCommand())
+            {
+                case MOVE:
+                    world.move(events.getFloat());
+                    break;
+                case RESUME:
+                    world.resume();
+                    break;
+                case PAUSE:
+                    world.pause();
+                    break;
+                case NEW_GAME:
+                    world.newGame();
+                    break;
+                case END:
+                    world.end();
+                    break;
+            }
+
+            readEventTick();
+        }
+    }
+
+    /**
+     * Reads tick of the next event, or sets it after all ticks if there is no event left.
+     */
+    private void readEventTick()
+    {
+        eventTick = (events.hasRemaining() ? eventTick + events.getVarInt() : Integer.MAX_VALUE);
+    }
+}
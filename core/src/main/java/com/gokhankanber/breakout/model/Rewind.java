@@ -0,0 +1,370 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.model;
+
+/**
+ * Fixed-size ring buffer of world states of the last ticks, to scrub back and resume from any of them.
+ * A keyframe keeps full state at an interval, and other ticks keep a delta to the last keyframe:
+ * state length, then runs of unchanged bytes (var int) and changed bytes (var int count, XOR of bytes).
+ * States are kept in a fixed byte ring, and the oldest states are dropped to make room,
+ * so memory stays in the budget and recording does not allocate once buffers have grown to state size.
+ * Free steps jumped over by {@link World#advance(int)} are recorded once, so seeking a tick within a jump finds the state before it.
+ */
+public class Rewind
+{
+    private final int keyframeInterval;
+    private final StateBuffer ring;
+    private final int[] ticks;
+    private final int[] offsets;
+    private final int[] lengths;
+    private final boolean[] keyframes;
+    private int head;
+    private int count;
+
+    // Reused buffers
+    private final StateBuffer current = new StateBuffer(256);
+    private final StateBuffer keyframe = new StateBuffer(256);
+    private final StateBuffer delta = new StateBuffer(256);
+    private final StateBuffer restore = new StateBuffer(256);
+    private int keyframeTick = -1;
+    private int keyframeAge;
+
+    /**
+     * @param budget is size of state ring in bytes.
+     * @param capacity is maximum number of kept ticks.
+     * @param keyframeInterval is number of ticks between keyframes.
+     */
+    public Rewind(int budget, int capacity, int keyframeInterval)
+    {
+        this.keyframeInterval = keyframeInterval;
+        ring = new StateBuffer(budget);
+        ring.setLength(budget); // states are copied into the ring in place, and all of it is readable
+        ticks = new int[capacity];
+        offsets = new int[capacity];
+        lengths = new int[capacity];
+        keyframes = new boolean[capacity];
+    }
+
+    /**
+     * Keeps state of the world after a step.
+     * States of the tick and later ticks are dropped first, so recording goes on after resuming from an earlier tick.
+     */
+    public void record(World world)
+    {
+        int tick = world.getTick();
+        truncate(tick);
+        current.clear();
+        world.save(current);
+
+        if(keyframeTick >= 0 && keyframeAge < keyframeInterval)
+        {
+            encodeDelta();
+
+            if(delta.getLength() < current.getLength() && append(tick, delta, false))
+            {
+                keyframeAge++;
+
+                return;
+            }
+        }
+
+        if(append(tick, current, true))
+        {
+            keyframe.clear();
+            keyframe.put(current.getData(), 0, current.getLength());
+            keyframeTick = tick;
+            keyframeAge = 1;
+        }
+    }
+
+    /**
+     * Loads the last kept state at or before the tick into the world.
+     * @return false if there is no such state.
+     */
+    public boolean seek(World world, int tick)
+    {
+        int entry = find(tick);
+
+        if(entry < 0)
+        {
+            return false;
+        }
+
+        int first = entry;
+
+        while(!keyframes[index(first)])
+        {
+            first--;
+        }
+
+        int i = index(first);
+        restore.clear();
+        restore.put(ring.getData(), offsets[i], lengths[i]);
+
+        if(first != entry)
+        {
+            applyDelta(index(entry));
+        }
+
+        restore.setPosition(0);
+        world.load(restore);
+
+        return true;
+    }
+
+    /**
+     * Drops states of the tick and later ticks.
+     */
+    public void truncate(int tick)
+    {
+        while(count > 0 && ticks[index(count - 1)] >= tick)
+        {
+            count--;
+        }
+
+        if(keyframeTick >= tick)
+        {
+            keyframeTick = -1;
+        }
+    }
+
+    public void clear()
+    {
+        head = 0;
+        count = 0;
+        keyframeTick = -1;
+    }
+
+    /**
+     * Returns the oldest kept tick, or -1 if no state is kept.
+     */
+    public int getOldestTick()
+    {
+        return (count > 0 ? ticks[head] : -1);
+    }
+
+    /**
+     * Returns the newest kept tick, or -1 if no state is kept.
+     */
+    public int getNewestTick()
+    {
+        return (count > 0 ? ticks[index(count - 1)] : -1);
+    }
+
+    /**
+     * Returns number of bytes used by kept states.
+     */
+    public int getSize()
+    {
+        int size = 0;
+
+        for(int i = 0; i < count; i++)
+        {
+            size += lengths[index(i)];
+        }
+
+        return size;
+    }
+
+    /**
+     * Adds a state to the ring after the newest one, and drops the oldest states which are in its way.
+     * @return false if a delta is not added, because its keyframe is dropped.
+     */
+    private boolean append(int tick, StateBuffer state, boolean isKeyframe)
+    {
+        int length = state.getLength();
+
+        if(length > ring.getData().length)
+        {
+            clear();
+
+            return false;
+        }
+
+        if(count == ticks.length)
+        {
+            drop();
+        }
+
+        int offset = 0;
+
+        if(count > 0)
+        {
+            int newest = index(count - 1);
+            offset = offsets[newest] + lengths[newest];
+
+            if(offset + length > ring.getData().length)
+            {
+                // Oldest states at the end are dropped, and writing goes on from the start.
+                while(count > 0 && offsets[head] >= offset)
+                {
+                    drop();
+                }
+
+                offset = 0;
+            }
+        }
+
+        while(count > 0 && offsets[head] < offset + length && offsets[head] + lengths[head] > offset)
+        {
+            drop();
+        }
+
+        if(!isKeyframe && keyframeTick < 0)
+        {
+            return false;
+        }
+
+        int i = index(count++);
+        ticks[i] = tick;
+        offsets[i] = offset;
+        lengths[i] = length;
+        keyframes[i] = isKeyframe;
+        System.arraycopy(state.getData(), 0, ring.getData(), offset, length);
+
+        return true;
+    }
+
+    /**
+     * Drops the oldest state, and deltas which depend on it if it is a keyframe.
+     */
+    private void drop()
+    {
+        do
+        {
+            if(ticks[head] == keyframeTick)
+            {
+                keyframeTick = -1;
+            }
+
+            head = (head + 1) % ticks.length;
+            count--;
+        }
+        while(count > 0 && !keyframes[head]);
+    }
+
+    /**
+     * Finds the last entry at or before the tick.
+     * @return index of the entry from the oldest one, or -1.
+     */
+    private int find(int tick)
+    {
+        int low = 0;
+        int high = count - 1;
+        int found = -1;
+
+        while(low <= high)
+        {
+            int middle = (low + high) >>> 1;
+
+            if(ticks[index(middle)] <= tick)
+            {
+                found = middle;
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle - 1;
+            }
+        }
+
+        return found;
+    }
+
+    private int index(int entry)
+    {
+        return (head + entry) % ticks.length;
+    }
+
+    /**
+     * Encodes current state as delta to the keyframe.
+     */
+    private void encodeDelta()
+    {
+        byte[] state = current.getData();
+        int length = current.getLength();
+        delta.clear();
+        delta.putVarInt(length);
+
+        int i = 0;
+
+        while(i < length)
+        {
+            int start = i;
+
+            while(i < length && state[i] == getKeyframeByte(i))
+            {
+                i++;
+            }
+
+            if(i == length)
+            {
+                break;
+            }
+
+            int changed = i;
+
+            while(i < length && state[i] != getKeyframeByte(i))
+            {
+                i++;
+            }
+
+            delta.putVarInt(changed - start);
+            delta.putVarInt(i - changed);
+
+            for(int j = changed; j < i; j++)
+            {
+                delta.putByte(state[j] ^ getKeyframeByte(j));
+            }
+        }
+    }
+
+    private byte getKeyframeByte(int i)
+    {
+        return (i < keyframe.getLength() ? keyframe.getData()[i] : 0);
+    }
+
+    /**
+     * Applies delta of the entry to the keyframe in restore buffer.
+     */
+    private void applyDelta(int entry)
+    {
+        int end = offsets[entry] + lengths[entry];
+        ring.setPosition(offsets[entry]);
+        int length = ring.getVarInt();
+
+        while(restore.getLength() < length)
+        {
+            restore.putByte(0);
+        }
+
+        restore.setLength(length);
+        byte[] state = restore.getData();
+        int i = 0;
+
+        while(ring.getPosition() < end)
+        {
+            i += ring.getVarInt();
+            int changed = ring.getVarInt();
+
+            for(int j = 0; j < changed; j++, i++)
+            {
+                state[i] ^= ring.getByte();
+            }
+        }
+    }
+}
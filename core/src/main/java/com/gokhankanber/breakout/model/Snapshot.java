@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.model;
+
+/**
+ * Versioned binary snapshot of a world: header, config and world state.
+ * Takes about a hundred bytes, so it can be written whenever the game is paused.
+ */
+public class Snapshot
+{
+    private static final int MAGIC = 0x42524b53; // BRKS
+    private static final int VERSION = 3;
+
+    private Snapshot()
+    {
+    }
+
+    /**
+     * Writes snapshot of the world at the end of the buffer.
+     */
+    public static void write(World world, StateBuffer buffer)
+    {
+        buffer.putInt(MAGIC);
+        buffer.putByte(VERSION);
+        world.getConfig().save(buffer);
+        world.save(buffer);
+    }
+
+    /**
+     * Reads config of a snapshot. World state follows it, which is read by {@link World#load(StateBuffer)}.
+     * @return config of the world, or null if the buffer is not a snapshot of this version.
+     */
+    public static WorldConfig readConfig(StateBuffer buffer)
+    {
+        if(buffer.getLength() - buffer.getPosition() < 5 || buffer.getInt() != MAGIC || buffer.getByte() != VERSION)
+        {
+            return null;
+        }
+
+        WorldConfig config = new WorldConfig();
+        config.load(buffer);
+
+        return config;
+    }
+
+    /**
+     * Creates a world from a snapshot.
+     * @return the restored world, or null if the buffer is not a snapshot of this version.
+     * @throws RuntimeException if the snapshot is truncated or corrupt.
+     */
+    public static World restore(StateBuffer buffer, SoundListener soundListener)
+    {
+        WorldConfig config = readConfig(buffer);
+
+        if(config == null)
+        {
+            return null;
+        }
+
+        World world = new World(config, soundListener);
+        world.load(buffer);
+
+        return world;
+    }
+}
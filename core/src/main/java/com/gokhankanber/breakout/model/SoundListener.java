@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.model;
+
+/**
+ * Plays sounds of the world.
+ */
+public interface SoundListener
+{
+    // Plays no sound, for headless worlds: tests, benchmarks and simulator.
+    SoundListener SILENT = new SoundListener()
+    {
+        @Override
+        public void playBrickSound(int index)
+        {
+        }
+
+        @Override
+        public void playPaddleSound()
+        {
+        }
+
+        @Override
+        public void playTopBorderSound()
+        {
+        }
+
+        @Override
+        public void playSideBorderSound()
+        {
+        }
+
+        @Override
+        public void playBallOutSound()
+        {
+        }
+    };
+
+    void playBrickSound(int index);
+    void playPaddleSound();
+    void playTopBorderSound();
+    void playSideBorderSound();
+    void playBallOutSound();
+}
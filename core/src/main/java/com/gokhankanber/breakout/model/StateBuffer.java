@@ -0,0 +1,255 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.model;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Growable byte buffer for binary world state and input logs.
+ * Values are written at the end and read from a read position, in big-endian order.
+ * Reads past the written length throw {@link IndexOutOfBoundsException}, so truncated data fails instead of reading stale bytes.
+ * Memory is only allocated when the buffer grows, so a reused buffer does not allocate.
+ */
+public class StateBuffer
+{
+    private byte[] data;
+    private int length;
+    private int position;
+
+    /**
+     * @param capacity is initial size in bytes.
+     */
+    public StateBuffer(int capacity)
+    {
+        data = new byte[capacity];
+    }
+
+    /**
+     * Empties the buffer and rewinds the read position.
+     */
+    public void clear()
+    {
+        length = 0;
+        position = 0;
+    }
+
+    public byte[] getData()
+    {
+        return data;
+    }
+
+    /**
+     * Returns number of written bytes.
+     */
+    public int getLength()
+    {
+        return length;
+    }
+
+    /**
+     * Drops bytes after length, e.g. to overwrite the tail.
+     */
+    public void setLength(int length)
+    {
+        this.length = length;
+    }
+
+    /**
+     * Returns read position.
+     */
+    public int getPosition()
+    {
+        return position;
+    }
+
+    public void setPosition(int position)
+    {
+        this.position = position;
+    }
+
+    /**
+     * Checks whether there are bytes left to read.
+     */
+    public boolean hasRemaining()
+    {
+        return position < length;
+    }
+
+    public void putByte(int value)
+    {
+        ensureCapacity(1);
+        data[length++] = (byte) value;
+    }
+
+    public void putBoolean(boolean value)
+    {
+        putByte(value ? 1 : 0);
+    }
+
+    public void putInt(int value)
+    {
+        ensureCapacity(4);
+        putInt(length, value);
+        length += 4;
+    }
+
+    /**
+     * Overwrites an int which is already written, e.g. a length field.
+     * @param offset of the int.
+     */
+    public void putInt(int offset, int value)
+    {
+        data[offset] = (byte) (value >>> 24);
+        data[offset + 1] = (byte) (value >>> 16);
+        data[offset + 2] = (byte) (value >>> 8);
+        data[offset + 3] = (byte) value;
+    }
+
+    public void putLong(long value)
+    {
+        putInt((int) (value >>> 32));
+        putInt((int) value);
+    }
+
+    public void putFloat(float value)
+    {
+        putInt(Float.floatToRawIntBits(value));
+    }
+
+    /**
+     * Writes a non-negative int in 1 to 5 bytes, 7 bits in each byte.
+     */
+    public void putVarInt(int value)
+    {
+        while((value & ~0x7f) != 0)
+        {
+            putByte((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+
+        putByte(value);
+    }
+
+    /**
+     * Appends bytes of another buffer.
+     */
+    public void put(byte[] bytes, int offset, int count)
+    {
+        ensureCapacity(count);
+        System.arraycopy(bytes, offset, data, length, count);
+        length += count;
+    }
+
+    public int getByte()
+    {
+        if(position >= length)
+        {
+            throw new IndexOutOfBoundsException("Read at " + position + " of " + length + " bytes");
+        }
+
+        return data[position++];
+    }
+
+    public boolean getBoolean()
+    {
+        return getByte() != 0;
+    }
+
+    public int getInt()
+    {
+        int value = getInt(position);
+        position += 4;
+
+        return value;
+    }
+
+    /**
+     * Reads an int without moving the read position.
+     * @param offset of the int.
+     */
+    public int getInt(int offset)
+    {
+        if(offset < 0 || offset + 4 > length)
+        {
+            throw new IndexOutOfBoundsException("Read at " + offset + " of " + length + " bytes");
+        }
+
+        return ((data[offset] & 0xff) << 24) | ((data[offset + 1] & 0xff) << 16) | ((data[offset + 2] & 0xff) << 8) | (data[offset + 3] & 0xff);
+    }
+
+    public long getLong()
+    {
+        long high = getInt();
+
+        return (high << 32) | (getInt() & 0xffffffffL);
+    }
+
+    public float getFloat()
+    {
+        return Float.intBitsToFloat(getInt());
+    }
+
+    public int getVarInt()
+    {
+        int value = 0;
+        int shift = 0;
+        int b;
+
+        do
+        {
+            b = getByte();
+            value |= (b & 0x7f) << shift;
+            shift += 7;
+        }
+        while((b & 0x80) != 0);
+
+        return value;
+    }
+
+    /**
+     * Writes length and bytes of the buffer.
+     */
+    public void write(DataOutputStream out) throws IOException
+    {
+        out.writeInt(length);
+        out.write(data, 0, length);
+    }
+
+    /**
+     * Reads length and bytes written by {@link #write(DataOutputStream)}, replacing the content.
+     */
+    public void read(DataInputStream in) throws IOException
+    {
+        clear();
+        int count = in.readInt();
+        ensureCapacity(count);
+        in.readFully(data, 0, count);
+        length = count;
+    }
+
+    private void ensureCapacity(int count)
+    {
+        if(length + count > data.length)
+        {
+            byte[] bytes = new byte[Math.max(data.length * 2, length + count)];
+            System.arraycopy(data, 0, bytes, 0, length);
+            data = bytes;
+        }
+    }
+}
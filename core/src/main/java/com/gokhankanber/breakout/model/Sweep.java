@@ -0,0 +1,143 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.model;
+
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * Swept AABB collision test.
+ * Finds time of impact and hit normal of a moving box against a static box.
+ * Time of impact is a fraction of the movement in [0, 1].
+ */
+public class Sweep
+{
+    // Contacts shallower than skin are being left, not hit.
+    private final float skin = 0.01f;
+    private float time;
+    private float normalX;
+    private float normalY;
+
+    /**
+     * Tests moving box against target.
+     * @param x of moving box.
+     * @param y of moving box.
+     * @param width of moving box.
+     * @param height of moving box.
+     * @param dx is movement in x coordinate.
+     * @param dy is movement in y coordinate.
+     * @param target is the static box.
+     * @return true if moving box hits target within the movement.
+     */
+    public boolean test(float x, float y, float width, float height, float dx, float dy, Rectangle target)
+    {
+        if(dx == 0 && dy == 0)
+        {
+            return false;
+        }
+
+        float entryX, exitX, entryY, exitY;
+
+        if(dx > 0)
+        {
+            entryX = (target.x - (x + width)) / dx;
+            exitX = (target.x + target.width - x) / dx;
+        }
+        else if(dx < 0)
+        {
+            entryX = (target.x + target.width - x) / dx;
+            exitX = (target.x - (x + width)) / dx;
+        }
+        else if(x < target.x + target.width && x + width > target.x)
+        {
+            entryX = Float.NEGATIVE_INFINITY;
+            exitX = Float.POSITIVE_INFINITY;
+        }
+        else
+        {
+            return false;
+        }
+
+        if(dy > 0)
+        {
+            entryY = (target.y - (y + height)) / dy;
+            exitY = (target.y + target.height - y) / dy;
+        }
+        else if(dy < 0)
+        {
+            entryY = (target.y + target.height - y) / dy;
+            exitY = (target.y - (y + height)) / dy;
+        }
+        else if(y < target.y + target.height && y + height > target.y)
+        {
+            entryY = Float.NEGATIVE_INFINITY;
+            exitY = Float.POSITIVE_INFINITY;
+        }
+        else
+        {
+            return false;
+        }
+
+        float entry = Math.max(entryX, entryY);
+        float exit = Math.min(exitX, exitY);
+
+        if(entry >= exit || exit <= 0 || entry > 1)
+        {
+            return false;
+        }
+
+        if(entry < 0)
+        {
+            // Already overlapping: ignore contact which is being left after a bounce.
+            float depth = (exitX < exitY ? exitX * Math.abs(dx) : exitY * Math.abs(dy));
+
+            if(depth < skin)
+            {
+                return false;
+            }
+        }
+
+        time = Math.max(entry, 0);
+
+        if(entryX > entryY)
+        {
+            normalX = (dx > 0 ? -1 : 1);
+            normalY = 0;
+        }
+        else
+        {
+            normalX = 0;
+            normalY = (dy > 0 ? -1 : 1);
+        }
+
+        return true;
+    }
+
+    public float getTime()
+    {
+        return time;
+    }
+
+    public float getNormalX()
+    {
+        return normalX;
+    }
+
+    public float getNormalY()
+    {
+        return normalY;
+    }
+}
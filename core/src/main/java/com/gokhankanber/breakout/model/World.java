@@ -0,0 +1,943 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.model;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.gokhankanber.breakout.metrics.Metrics;
+import com.gokhankanber.breakout.metrics.Trace;
+
+/**
+ * Creates models.
+ * Updates and checks score.
+ * Manages world's state.
+ */
+public class World
+{
+    // State
+    private enum State
+    {
+        READY,
+        PAUSE,
+        RESUME,
+        ENDING,
+        END
+    }
+
+    private final State[] states = State.values();
+    private State state = State.READY;
+    private float stateTime = 0;
+    private boolean boardChanged = false;
+    private boolean gameOver = false;
+
+    // Fixed time step
+    private float stepTime;
+    private int maxSteps;
+    private float accumulator = 0;
+    private float alpha = 0;
+    private int tick = 0;
+    private float queuedMove = 0;
+    private int queuedMoves = 0; // number of moves summed in queued move
+    private long queuedMoveTime = 0;
+    private long moveTime = 0;
+
+    // Input recording, rewind, metrics, and trace
+    private InputLog inputLog;
+    private Rewind rewind;
+    private Metrics metrics;
+    private Trace trace;
+
+    // Config and sound
+    private final WorldConfig config;
+    private final SoundListener soundListener;
+
+    private final int maxRound = 2;
+    private int round = 0;
+
+    // Models
+    // Block Properties
+    private final int blockSize = 12;
+
+    // Brick Properties
+    private final int paddingWall = 18;
+    private final String topBrickColor = "#c84848";
+    private final String secondLevelBrickColor = "#c66c3a";
+    private final String thirdLevelBrickColor = "#b47a30";
+    private final String fourthLevelBrickColor = "#a2a22a";
+    private final String fifthLevelBrickColor = "#48a048";
+    private final String sixthLevelBrickColor = "#4248c8";
+    private final String wallColor = "#8e8e8e";
+    private final String leftBottomBlockColor = "#429e82";
+    private final String rightBottomBlockColor = "#c84848";
+    private final int brickHighPoints = 7;
+    private final int brickMiddlePoints = 4;
+    private final int brickLowPoints = 1;
+    private final int brickRows;
+    private final int rowBrickCount;
+    private final float brickWidth;
+    private final int brickHeight = 4;
+    private final int speedBrickVelocityRatio = 2;
+    private final String splitBrickColor = "#d8d8d8";
+    private final int splitBrickRow = 3;
+    private final int splitBrickColumnStep = 6;
+
+    // Paddle Properties
+    private final String paddleColor = "#c84848";
+    private final float paddleWidthRatio;
+    private final float paddleWidth;
+    private final int paddleHeight = 3;
+    private final int paddleSectionNumber = 5;
+    private final Vector2 paddleStartPoint;
+
+    // Ball Properties
+    private final String ballColor = "#c84848";
+    private final int ballSize = 3;
+    private final float ballAcceleration;
+    private final float ballSpeedRatio;
+    private final int ballNumber = 5;
+    private final int maxBalls = 256;
+    private final Vector2 ballStartPoint;
+
+    // Brick hits of the current step. A brick is hit at most once in a step, so wall size is enough.
+    private final int[] hitBalls;
+    private final int[] hitRows;
+    private final int[] hitColumns;
+    private int hitCount = 0;
+
+    private Array<Block> border;
+    private Array<Block> blocks;
+    private BrickGrid wall;
+    private Paddle paddle;
+    private Balls balls;
+
+    /**
+     * @param config is viewport size and game options.
+     * @param soundListener plays sounds of the world.
+     */
+    public World(WorldConfig config, SoundListener soundListener)
+    {
+        this.config = config;
+        this.soundListener = soundListener;
+        setTickRate(config.tickRate, config.maxTicks);
+
+        // Set wall size. Bricks share the width between side borders.
+        brickRows = config.brickRows;
+        rowBrickCount = config.rowBrickCount;
+        brickWidth = (config.width - 2 * blockSize) / rowBrickCount;
+        hitBalls = new int[brickRows * rowBrickCount];
+        hitRows = new int[brickRows * rowBrickCount];
+        hitColumns = new int[brickRows * rowBrickCount];
+
+        // Set difficulty properties.
+        paddleWidthRatio = (config.difficulty == 0 ? (float) 5 / 4 : (config.difficulty == 2 ? (float) 3 / 4 : 1));
+        paddleWidth = 24 * paddleWidthRatio;
+        paddleStartPoint = new Vector2((config.width - paddleWidth) / 2, blockSize + paddleHeight);
+        ballAcceleration = config.ballSpeed;
+        ballSpeedRatio = (config.difficulty == 0 ? (float) 3 / 4 : (config.difficulty == 2 ? (float) 5 / 4 : 1));
+        ballStartPoint = new Vector2(blockSize, config.height - 3 * blockSize - paddingWall - brickRows * brickHeight);
+
+        // Create models.
+        createBorder();
+        createBlocks();
+        createWall();
+        paddle = new Paddle(paddleStartPoint.x, paddleStartPoint.y, paddleWidth, paddleHeight, paddleColor, paddleSectionNumber);
+        paddle.setListener(iWorld);
+        balls = new Balls(ballStartPoint.x, ballStartPoint.y, ballSize, ballSize, ballColor, ballAcceleration * ballSpeedRatio, ballNumber, maxBalls);
+        balls.setListener(iWorld);
+    }
+
+    /**
+     * Returns round index, 0 for the first wall.
+     */
+    public int getRound()
+    {
+        return round;
+    }
+
+    public boolean isBoardChanged()
+    {
+        return boardChanged;
+    }
+
+    public void resetBoardChanged()
+    {
+        boardChanged = false;
+    }
+
+    private void newBall()
+    {
+        soundListener.playBallOutSound();
+
+        int count = balls.getCount();
+
+        if(count > 0)
+        {
+            balls.reset(ballStartPoint.x, ballStartPoint.y, --count);
+        }
+        else
+        {
+            gameOver = true;
+            ending();
+        }
+
+        boardChanged = true;
+    }
+
+    /**
+     * Removes a brick from the wall at once, so no other ball hits it in the same step.
+     * Its score, sound and effects are applied by {@link #applyHits()} at the end of the step.
+     * @param ball is index of the ball hitting the brick.
+     * @param row of the brick.
+     * @param column of the brick.
+     */
+    void hitBrick(int ball, int row, int column)
+    {
+        wall.remove(row, column);
+        hitBalls[hitCount] = ball;
+        hitRows[hitCount] = row;
+        hitColumns[hitCount] = column;
+        hitCount++;
+    }
+
+    /**
+     * Applies brick hits of the step in hit order.
+     * Ball indices are still valid, because out balls are removed after this.
+     */
+    void applyHits()
+    {
+        if(hitCount == 0)
+        {
+            return;
+        }
+
+        for(int i = 0; i < hitCount; i++)
+        {
+            int ball = hitBalls[i];
+            Brick brick = wall.get(hitRows[i], hitColumns[i]);
+            soundListener.playBrickSound(brick.getIndex());
+
+            // speed up ball
+            if(!balls.getSpeedBrickHit(ball) && brick.isSpeedBrick())
+            {
+                balls.speed(ball, speedBrickVelocityRatio);
+                balls.setSpeedBrickHit(ball, true);
+            }
+
+            // split ball
+            if(brick.isSplitBrick())
+            {
+                balls.split(ball);
+            }
+
+            // add points
+            paddle.points += brick.getPoints();
+        }
+
+        hitCount = 0;
+
+        if(wall.size() == 0)
+        {
+            round++;
+
+            if(round < maxRound)
+            {
+                createWall();
+            }
+            else
+            {
+                ending();
+            }
+        }
+
+        // notify board is changed
+        boardChanged = true;
+    }
+
+    public boolean isGameOver()
+    {
+        return gameOver;
+    }
+
+    /**
+     * Resets world for a new game.
+     */
+    public void newGame()
+    {
+        record(InputLog.Command.NEW_GAME, 0);
+        queuedMove = 0;
+        queuedMoves = 0;
+        queuedMoveTime = 0;
+        moveTime = 0;
+        createWall();
+        paddle.reset(paddleStartPoint.x, paddleStartPoint.y);
+        balls.reset(ballStartPoint.x, ballStartPoint.y, ballNumber);
+        state = State.READY;
+        gameOver = false;
+        round = 0;
+        boardChanged = true;
+    }
+
+    public void pause()
+    {
+        applyQueuedMove();
+        record(InputLog.Command.PAUSE, 0);
+        state = State.PAUSE;
+    }
+
+    public void resume()
+    {
+        record(InputLog.Command.RESUME, 0);
+        state = State.RESUME;
+    }
+
+    public void ending()
+    {
+        state = State.ENDING;
+    }
+
+    public void end()
+    {
+        record(InputLog.Command.END, 0);
+        state = State.END;
+    }
+
+    /**
+     * Moves paddle by user input, when world is resumed.
+     * @param amount is change in x coordinate.
+     */
+    public void move(float amount)
+    {
+        if(isResumed())
+        {
+            record(InputLog.Command.MOVE, amount);
+            paddle.move(amount);
+        }
+    }
+
+    /**
+     * Queues paddle move by user input, when world is resumed.
+     * Queued moves are applied at once at the start of the next step, so paddle moves once a step however often input comes.
+     * @param amount is change in x coordinate.
+     * @param time is {@link System#nanoTime()} of the input event.
+     */
+    public void queueMove(float amount, long time)
+    {
+        if(isResumed())
+        {
+            if(queuedMoveTime == 0)
+            {
+                queuedMoveTime = time;
+            }
+
+            queuedMove += amount;
+            queuedMoves++;
+        }
+    }
+
+    /**
+     * Moves paddle by the sum of queued moves.
+     * Mean move is applied last by itself, so paddle velocity, which speeds up balls on paddle hits, is of a single input event
+     * as it is without the queue, however many events come in a step.
+     */
+    private void applyQueuedMove()
+    {
+        if(queuedMove != 0)
+        {
+            float last = queuedMove / queuedMoves;
+
+            if(queuedMoves > 1)
+            {
+                move(queuedMove - last);
+            }
+
+            move(last);
+
+            if(moveTime == 0)
+            {
+                moveTime = queuedMoveTime;
+            }
+        }
+
+        queuedMove = 0;
+        queuedMoves = 0;
+        queuedMoveTime = 0;
+    }
+
+    /**
+     * Records input latency of the oldest queued move which is applied but not rendered yet, if there is one.
+     * Called once the frame is rendered, so latency is from touch event to the end of the first render of its paddle move.
+     */
+    public void recordInputLatency()
+    {
+        if(moveTime != 0)
+        {
+            if(metrics != null)
+            {
+                metrics.record(Metrics.Histogram.INPUT_LATENCY, System.nanoTime() - moveTime);
+            }
+
+            moveTime = 0;
+        }
+    }
+
+    public boolean isReady()
+    {
+        return state == State.READY;
+    }
+
+    public boolean isPaused()
+    {
+        return state == State.PAUSE;
+    }
+
+    public boolean isResumed()
+    {
+        return state == State.RESUME;
+    }
+
+    public boolean isEnding()
+    {
+        return state == State.ENDING;
+    }
+
+    public boolean isEnd()
+    {
+        return state == State.END;
+    }
+
+    private void createBorder()
+    {
+        border = new Array<>();
+        border.add(new Block(0, 1.5f * blockSize, blockSize, config.height - 2.5f * blockSize, wallColor));
+        border.add(new Block(blockSize, config.height - 2 * blockSize, config.width - 2 * blockSize, blockSize, wallColor));
+        border.add(new Block(config.width - blockSize, 1.5f * blockSize, blockSize, config.height - 2.5f * blockSize, wallColor));
+    }
+
+    private void createBlocks()
+    {
+        blocks = new Array<>();
+        blocks.add(new Block(0, blockSize, blockSize, blockSize / 2, leftBottomBlockColor));
+        blocks.add(new Block(config.width - blockSize, blockSize, blockSize, blockSize / 2, rightBottomBlockColor));
+    }
+
+    /**
+     * Creates wall grid and bricks on first call.
+     * Puts all bricks back to the wall for a new round or a new game.
+     */
+    private void createWall()
+    {
+        if(metrics != null)
+        {
+            metrics.increment(Metrics.Counter.WALLS_CREATED);
+        }
+
+        float wallTop = config.height - blockSize - blockSize - paddingWall;
+
+        if(wall == null)
+        {
+            wall = new BrickGrid(blockSize, wallTop, brickWidth, brickHeight, brickRows, rowBrickCount);
+        }
+
+        for(int i = 0; i < brickRows; i++)
+        {
+            for(int j = 0; j < rowBrickCount; j++)
+            {
+                Brick brick = wall.get(i, j);
+
+                if(brick == null)
+                {
+                    boolean splitBrick = config.multiBall && i == splitBrickRow && j % splitBrickColumnStep == splitBrickColumnStep / 2;
+                    brick = new Brick(blockSize + (j * brickWidth), wallTop - (i + 1) * brickHeight, brickWidth, brickHeight, splitBrick ? splitBrickColor : getColor(i));
+                    brick.setIndex(i);
+                    brick.setPoints(getBrickPoints(i));
+
+                    if(i < 3)
+                    {
+                        brick.setSpeedBrick();
+                    }
+
+                    if(splitBrick)
+                    {
+                        brick.setSplitBrick();
+                    }
+                }
+
+                wall.set(i, j, brick);
+            }
+        }
+    }
+
+    private String getColor(int i)
+    {
+        switch(i)
+        {
+            case 0:
+                return topBrickColor;
+            case 1:
+                return secondLevelBrickColor;
+            case 2:
+                return thirdLevelBrickColor;
+            case 3:
+                return fourthLevelBrickColor;
+            case 4:
+                return fifthLevelBrickColor;
+            case 5:
+                return sixthLevelBrickColor;
+            default:
+                return sixthLevelBrickColor;
+        }
+    }
+
+    private int getBrickPoints(int i)
+    {
+        switch(i)
+        {
+            case 0:
+                return brickHighPoints;
+            case 1:
+                return brickHighPoints;
+            case 2:
+                return brickMiddlePoints;
+            case 3:
+                return brickMiddlePoints;
+            case 4:
+                return brickLowPoints;
+            case 5:
+                return brickLowPoints;
+            default:
+                return brickLowPoints;
+        }
+    }
+
+    public WorldConfig getConfig()
+    {
+        return config;
+    }
+
+    public Balls getBalls()
+    {
+        return balls;
+    }
+
+    public Paddle getPaddle()
+    {
+        return paddle;
+    }
+
+    public Array<Block> getBorder()
+    {
+        return border;
+    }
+
+    public Array<Block> getBlocks()
+    {
+        return blocks;
+    }
+
+    public BrickGrid getWall()
+    {
+        return wall;
+    }
+
+    public int getBrickRows()
+    {
+        return brickRows;
+    }
+
+    /**
+     * Returns color of the bricks of a row, whether any of them is standing or not.
+     */
+    public Color getBrickColor(int row)
+    {
+        return Color.valueOf(getColor(row));
+    }
+
+    public Color getSplitBrickColor()
+    {
+        return Color.valueOf(splitBrickColor);
+    }
+
+    /**
+     * Sets simulation step rate.
+     * @param tickRate is number of simulation steps per second.
+     * @param maxSteps is maximum number of steps to catch up in a frame.
+     */
+    public void setTickRate(int tickRate, int maxSteps)
+    {
+        stepTime = 1.0f / tickRate;
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * Returns interpolation ratio of the current frame between previous and current simulation steps.
+     */
+    public float getAlpha()
+    {
+        return alpha;
+    }
+
+    /**
+     * Runs fixed simulation steps for game time of the clock's current frame.
+     * Maximum number of steps is multiplied by time scale above 1, so turbo runs do not drop time.
+     * @param clock is game clock, which is advanced for the frame.
+     */
+    public void update(Clock clock)
+    {
+        update(clock.getDelta(), maxSteps * Math.max(1, (int) Math.ceil(clock.getTimeScale())));
+    }
+
+    /**
+     * Runs fixed simulation steps for frame time.
+     * Time left over after maximum number of steps is dropped, so a long frame does not make a huge step.
+     * @param delta is frame time.
+     */
+    public void update(float delta)
+    {
+        update(delta, maxSteps);
+    }
+
+    private void update(float delta, int maxSteps)
+    {
+        if(trace != null)
+        {
+            trace.begin(Trace.Section.WORLD_UPDATE);
+        }
+
+        accumulator += delta;
+        int steps = 0;
+
+        while(accumulator >= stepTime && steps < maxSteps && (isResumed() || isReady()))
+        {
+            step(stepTime);
+            accumulator -= stepTime;
+            steps++;
+        }
+
+        if(accumulator >= stepTime)
+        {
+            accumulator %= stepTime;
+        }
+
+        alpha = accumulator / stepTime;
+
+        if(trace != null)
+        {
+            trace.end(Trace.Section.WORLD_UPDATE);
+        }
+    }
+
+    /**
+     * Advances world by fixed steps for headless simulation, without render interpolation.
+     * Steps in which balls fly free are jumped over at once, otherwise a single step is run.
+     * Result is the same as stepping one by one, when paddle is moved only between calls.
+     * A jump is recorded once, at its last tick: rewind keeps no state of the ticks within it,
+     * and input log adds a keyframe at its end if keyframe interval is passed within it.
+     * @param maxSteps is upper limit of steps.
+     * @return number of steps advanced, 0 if world is paused or ended.
+     */
+    public int advance(int maxSteps)
+    {
+        if(maxSteps <= 0 || !(isResumed() || isReady()))
+        {
+            return 0;
+        }
+
+        if(isResumed())
+        {
+            applyQueuedMove();
+            int steps = balls.getFreeSteps(stepTime, maxSteps);
+
+            if(steps > 0)
+            {
+                balls.move(stepTime, steps);
+                stepped(steps);
+
+                return steps;
+            }
+        }
+
+        step(stepTime);
+
+        return 1;
+    }
+
+    /**
+     * Returns number of next steps in which no ball can hit anything.
+     * Paddle can be left alone during free steps, since balls are out of its reach.
+     * @param maxSteps is upper limit of steps.
+     */
+    public int getFreeSteps(int maxSteps)
+    {
+        return (isResumed() ? balls.getFreeSteps(stepTime, maxSteps) : 0);
+    }
+
+    private void step(float delta)
+    {
+        applyQueuedMove();
+        balls.savePositions();
+
+        if(isResumed())
+        {
+            balls.update(delta);
+            applyHits();
+            balls.removeOut();
+
+            if(metrics != null)
+            {
+                metrics.add(Metrics.Counter.OVERLAP_TESTS, balls.getOverlapTests());
+                metrics.add(Metrics.Counter.COLLISIONS, balls.getCollisions());
+                metrics.record(Metrics.Histogram.OVERLAP_TESTS, balls.getOverlapTests());
+            }
+        }
+        else if(isReady())
+        {
+            // Wait for 3 seconds on game start or touch to start.
+            wait(delta, 3);
+        }
+
+        stepped(1);
+    }
+
+    /**
+     * Counts ticks and adds a keyframe to input log if it is time.
+     */
+    private void stepped(int steps)
+    {
+        tick += steps;
+
+        if(metrics != null)
+        {
+            metrics.add(Metrics.Counter.TICKS, steps);
+        }
+
+        if(inputLog != null)
+        {
+            inputLog.update(this);
+        }
+
+        if(rewind != null)
+        {
+            rewind.record(this);
+        }
+    }
+
+    /**
+     * Returns number of simulation steps since world is created.
+     */
+    public int getTick()
+    {
+        return tick;
+    }
+
+    /**
+     * Records user input commands and keyframes to the log from now on.
+     * Adds a keyframe of the current state first, so a replay can start from it.
+     * @param inputLog is an empty log, or null to stop recording.
+     */
+    public void setInputLog(InputLog inputLog)
+    {
+        this.inputLog = inputLog;
+
+        if(inputLog != null)
+        {
+            inputLog.addKeyframe(this);
+        }
+    }
+
+    /**
+     * Keeps states of the last ticks in the rewind buffer from now on.
+     * @param rewind is the buffer, or null to stop keeping states.
+     */
+    public void setRewind(Rewind rewind)
+    {
+        this.rewind = rewind;
+    }
+
+    public Rewind getRewind()
+    {
+        return rewind;
+    }
+
+    /**
+     * Records ticks, overlap tests, collisions, and created walls to metrics from now on.
+     * @param metrics to record, or null to stop recording.
+     */
+    public void setMetrics(Metrics metrics)
+    {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Records world updates and collision checks of balls to trace from now on.
+     * @param trace to record, or null to stop recording.
+     */
+    public void setTrace(Trace trace)
+    {
+        this.trace = trace;
+        balls.setTrace(trace);
+    }
+
+    /**
+     * Moves world back to the last kept state at or before the tick, and pauses it.
+     * States after it are dropped when the world is resumed and stepped.
+     * Input log starts again from the rewound state, since its events and keyframes are of the dropped timeline.
+     * @return false if no state of the tick is kept.
+     */
+    public boolean rewind(int tick)
+    {
+        if(rewind == null || !rewind.seek(this, tick))
+        {
+            return false;
+        }
+
+        state = State.PAUSE;
+
+        if(inputLog != null)
+        {
+            inputLog.restart(this);
+        }
+
+        return true;
+    }
+
+    private void record(InputLog.Command command, float amount)
+    {
+        if(inputLog != null)
+        {
+            inputLog.record(this, command, amount);
+        }
+    }
+
+    /**
+     * Writes state of the world: tick, state, round, paddle, balls and standing bricks.
+     * Geometry and options are not written, they come from config. Frame time left over for the next step is not written either.
+     */
+    public void save(StateBuffer buffer)
+    {
+        buffer.putVarInt(tick);
+        buffer.putByte(state.ordinal());
+        buffer.putFloat(stateTime);
+        buffer.putBoolean(gameOver);
+        buffer.putByte(round);
+        paddle.save(buffer);
+        balls.save(buffer);
+        wall.save(buffer);
+    }
+
+    /**
+     * Reads state written by {@link #save(StateBuffer)} of a world with the same config.
+     * @throws RuntimeException if the state is truncated or corrupt, then the world must not be used.
+     */
+    public void load(StateBuffer buffer)
+    {
+        tick = buffer.getVarInt();
+        int ordinal = buffer.getByte();
+
+        if(ordinal < 0 || ordinal >= states.length)
+        {
+            throw new IllegalStateException("Invalid world state " + ordinal);
+        }
+
+        state = states[ordinal];
+        stateTime = buffer.getFloat();
+        gameOver = buffer.getBoolean();
+        round = buffer.getByte();
+        accumulator = 0;
+        alpha = 0;
+        queuedMove = 0;
+        queuedMoves = 0;
+        queuedMoveTime = 0;
+        moveTime = 0;
+        hitCount = 0;
+        paddle.load(buffer);
+        balls.load(buffer);
+        wall.load(buffer);
+        boardChanged = true;
+    }
+
+    public void wait(float delta, int waitTime)
+    {
+        if(stateTime >= waitTime)
+        {
+            stateTime = 0;
+            state = State.RESUME;
+        }
+        else
+        {
+            stateTime += delta;
+        }
+    }
+
+    // World interface instance for models.
+    private IWorld iWorld = new IWorld()
+    {
+        @Override
+        public Paddle getPaddle()
+        {
+            return paddle;
+        }
+
+        @Override
+        public Array<Block> getBorder()
+        {
+            return border;
+        }
+
+        @Override
+        public Array<Block> getBlocks()
+        {
+            return blocks;
+        }
+
+        @Override
+        public BrickGrid getWall()
+        {
+            return wall;
+        }
+
+        @Override
+        public void newBall()
+        {
+            World.this.newBall();
+        }
+
+        @Override
+        public void hitBrick(int ball, int row, int column)
+        {
+            World.this.hitBrick(ball, row, column);
+        }
+
+        @Override
+        public void playPaddleSound()
+        {
+            soundListener.playPaddleSound();
+        }
+
+        @Override
+        public void playTopBorderSound()
+        {
+            soundListener.playTopBorderSound();
+        }
+
+        @Override
+        public void playSideBorderSound()
+        {
+            soundListener.playSideBorderSound();
+        }
+    };
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.model;
+
+/**
+ * Viewport size and game options of the world.
+ */
+public class WorldConfig
+{
+    public float width = 240;
+    public float height = 400;
+    public int difficulty = 1;
+    public boolean multiBall = false;
+    public int brickRows = 6;
+    public int rowBrickCount = 18; // bricks share the width between side borders
+    public float ballSpeed = 50.0f; // start speed of a ball on normal difficulty
+    public int tickRate = 60; // simulation steps per second
+    public int maxTicks = 5; // maximum simulation steps per frame
+
+    // Bounds of loaded options
+    private static final float MAX_SIZE = 4096;
+    private static final int MAX_BRICK_ROWS = 64;
+    private static final int MAX_ROW_BRICK_COUNT = 64;
+    private static final float MAX_BALL_SPEED = 10000;
+    private static final int MAX_TICK_RATE = 1000;
+
+    /**
+     * Writes options of the world, so a restored or replayed world runs with the same options.
+     */
+    public void save(StateBuffer buffer)
+    {
+        buffer.putFloat(width);
+        buffer.putFloat(height);
+        buffer.putByte(difficulty);
+        buffer.putBoolean(multiBall);
+        buffer.putVarInt(brickRows);
+        buffer.putVarInt(rowBrickCount);
+        buffer.putFloat(ballSpeed);
+        buffer.putVarInt(tickRate);
+        buffer.putVarInt(maxTicks);
+    }
+
+    /**
+     * Reads options written by {@link #save(StateBuffer)}.
+     * Options are checked against sane bounds, so corrupt data does not make a world of huge arrays or zero step time.
+     * @throws IllegalStateException if an option is out of bounds.
+     */
+    public void load(StateBuffer buffer)
+    {
+        width = check("width", buffer.getFloat(), MAX_SIZE);
+        height = check("height", buffer.getFloat(), MAX_SIZE);
+        difficulty = check("difficulty", buffer.getByte(), 0, 2);
+        multiBall = buffer.getBoolean();
+        brickRows = check("brickRows", buffer.getVarInt(), 1, MAX_BRICK_ROWS);
+        rowBrickCount = check("rowBrickCount", buffer.getVarInt(), 1, MAX_ROW_BRICK_COUNT);
+        ballSpeed = check("ballSpeed", buffer.getFloat(), MAX_BALL_SPEED);
+        tickRate = check("tickRate", buffer.getVarInt(), 1, MAX_TICK_RATE);
+        maxTicks = check("maxTicks", buffer.getVarInt(), 1, MAX_TICK_RATE);
+    }
+
+    private static int check(String name, int value, int min, int max)
+    {
+        if(value < min || value > max)
+        {
+            throw new IllegalStateException("Invalid " + name + " " + value);
+        }
+
+        return value;
+    }
+
+    /**
+     * Checks that a value is a positive number up to max.
+     */
+    private static float check(String name, float value, float max)
+    {
+        if(!(value > 0 && value <= max))
+        {
+            throw new IllegalStateException("Invalid " + name + " " + value);
+        }
+
+        return value;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.model;
+
+import com.gokhankanber.breakout.metrics.Metrics;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Plays a scripted game headless, as the game screen does, and fails if the game loop allocates after warm-up.
+ * Touch drags go through the input queue into queued paddle moves, which game input controller drains the same way.
+ * Rendering needs a GL context, so world renderer is left out, but its input latency recording is done.
+ * Allocations are read from allocated bytes counter of the thread, which is supported by HotSpot JVMs.
+ * Counter is read once before and after the measured frames, since reading it may allocate until it is compiled.
+ * Warm-up is long, since deoptimization of compiled code on a rare path may load classes once, which allocates.
+ * Such one-off allocations of the JIT may still fall in the measured frames, so they are measured again a few times.
+ * Allocation by the game loop recurs in every round, so it fails the test.
+ */
+public class AllocationTest
+{
+    private final float[] deltas = {0.016f, 0.017f, 0.017f};
+    private final int seconds = 600; // game time of measured frames
+    private final int warmUpSeconds = 600;
+    private final int rounds = 3; // measured rounds, one of which must not allocate
+    private final int pauseInterval = 20 * 60; // frames
+    private final int pauseFrames = 30;
+    private final float scale = 1 / 3.0f; // world units per screen pixel
+    private final float paddleSpeed = 4; // maximum paddle move in a frame
+    private final InputQueue queue = new InputQueue(64);
+    private final Metrics metrics = Metrics.get();
+    private int touchX;
+    private World world;
+
+    @Test
+    public void gameLoopDoesNotAllocate()
+    {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        // Same setup as game controller.
+        WorldConfig config = new WorldConfig();
+        config.multiBall = true;
+        world = new World(config, SoundListener.SILENT);
+        world.setInputLog(new InputLog(config, 600, 128 * 1024));
+        world.setRewind(new Rewind(32 * 1024, 300, 30));
+        world.setMetrics(metrics);
+        queue.add(InputQueue.Type.DOWN, touchX, 0);
+
+        for(int frame = 0; frame < warmUpSeconds * 60; frame++)
+        {
+            play(world, frame);
+            threadBean.getThreadAllocatedBytes(threadId);
+        }
+
+        int frames = seconds * 60;
+        long allocated = 0;
+
+        for(int round = 0; round < rounds; round++)
+        {
+            long start = threadBean.getThreadAllocatedBytes(threadId);
+
+            for(int frame = 0; frame < frames; frame++)
+            {
+                play(world, frame);
+            }
+
+            allocated = threadBean.getThreadAllocatedBytes(threadId) - start;
+
+            if(allocated == 0)
+            {
+                break;
+            }
+        }
+
+        assertEquals("Allocated bytes in " + frames + " frames", 0, allocated);
+    }
+
+    /**
+     * Plays a frame: drags paddle towards the first ball, pauses and resumes at an interval, and starts a new game when the game ends.
+     */
+    private void play(World world, int frame)
+    {
+        if(world.isReady())
+        {
+            world.resume();
+        }
+        else if(world.isEnding())
+        {
+            world.end();
+            world.newGame();
+            world.resume();
+        }
+        else if(frame % pauseInterval == 0)
+        {
+            world.pause();
+        }
+        else if(world.isPaused() && frame % pauseInterval == pauseFrames)
+        {
+            world.resume();
+        }
+
+        if(world.isResumed() || world.isReady())
+        {
+            Balls balls = world.getBalls();
+            Paddle paddle = world.getPaddle();
+
+            if(balls.getSize() > 0)
+            {
+                // Two drags in a frame, which are coalesced in the queue.
+                float amount = balls.getX(0) + balls.getWidth() / 2 - paddle.getCenter();
+                int distance = Math.round(Math.max(-paddleSpeed, Math.min(paddleSpeed, amount)) / scale);
+                queue.add(InputQueue.Type.DRAG, touchX + distance / 2, 0);
+                touchX += distance;
+                queue.add(InputQueue.Type.DRAG, touchX, 0);
+            }
+
+            queue.drain(scale, queueListener);
+            world.update(deltas[frame % deltas.length]);
+            world.recordInputLatency();
+
+            if(world.isBoardChanged())
+            {
+                world.resetBoardChanged();
+            }
+        }
+    }
+
+    // Drags move the paddle, as game controller does. Clicks and back key are not played.
+    private final InputQueue.Listener queueListener = new InputQueue.Listener()
+    {
+        @Override
+        public void move(float amount, long time)
+        {
+            world.queueMove(amount, time);
+        }
+
+        @Override
+        public void click(int screenX, int screenY)
+        {
+        }
+
+        @Override
+        public void back()
+        {
+        }
+    };
+}
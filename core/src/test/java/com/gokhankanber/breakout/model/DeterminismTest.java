@@ -0,0 +1,203 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.model;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Plays the same scripted input by frame stepping, by {@link World#advance(int)} and by {@link Replay} of its input log,
+ * and checks that the games are equal: score, order of removed bricks and saved state.
+ * Paddle is moved only when a ball may be in its reach, as advance expects, as far as it could move in the steps since the last move.
+ */
+public class DeterminismTest
+{
+    private final int ticks = 60000;
+    private final float paddleSpeed = 3; // maximum paddle move in a step
+
+    @Test
+    public void advanceMatchesFrameStepping()
+    {
+        Game frames = new Game();
+        frames.playFrames();
+        Game advanced = new Game();
+        advanced.playAdvance();
+
+        assertTrue(frames.removed.size() > 0);
+        assertEquals(frames.world.getPaddle().points, advanced.world.getPaddle().points);
+        assertEquals(frames.removed, advanced.removed);
+        assertArrayEquals(TestWorld.getState(frames.world), TestWorld.getState(advanced.world));
+    }
+
+    @Test
+    public void replayMatchesRecordedGame()
+    {
+        World world = new World(createConfig(), SoundListener.SILENT);
+        InputLog log = new InputLog(world.getConfig(), 600, 1024 * 1024);
+        world.setInputLog(log);
+        Game recorded = new Game(world);
+        recorded.playFrames();
+
+        // Log is not restarted, so the replay starts from the first tick.
+        assertEquals(0, log.getKeyframeTick(0));
+
+        Replay replay = new Replay(log, SoundListener.SILENT);
+        Game replayed = new Game(replay.getWorld());
+
+        while(replay.getWorld().getTick() < log.getEndTick())
+        {
+            assertTrue(replay.play(replay.getWorld().getTick() + 1));
+            replayed.updateRemoved();
+        }
+
+        replay.play();
+
+        assertTrue(recorded.removed.size() > 0);
+        assertEquals(recorded.world.getPaddle().points, replayed.world.getPaddle().points);
+        assertEquals(recorded.removed, replayed.removed);
+        assertArrayEquals(TestWorld.getState(recorded.world), TestWorld.getState(replayed.world));
+    }
+
+    private WorldConfig createConfig()
+    {
+        WorldConfig config = new WorldConfig();
+        config.multiBall = true;
+
+        return config;
+    }
+
+    /**
+     * A scripted game, which keeps ticks and cells of removed bricks in order.
+     */
+    private class Game
+    {
+        final World world;
+        final List<Long> removed = new ArrayList<Long>();
+        private final long[] occupancy;
+        private int idleSteps = 1;
+
+        Game()
+        {
+            this(new World(createConfig(), SoundListener.SILENT));
+        }
+
+        Game(World world)
+        {
+            this.world = world;
+            occupancy = new long[world.getWall().getOccupancyLength()];
+            updateRemoved();
+        }
+
+        /**
+         * Steps world one step a frame.
+         */
+        void playFrames()
+        {
+            float stepTime = 1.0f / world.getConfig().tickRate;
+
+            while(world.getTick() < ticks && !world.isEnding())
+            {
+                movePaddle();
+                world.update(stepTime);
+                idleSteps++;
+                updateRemoved();
+            }
+        }
+
+        /**
+         * Advances world over free steps at once.
+         */
+        void playAdvance()
+        {
+            while(world.getTick() < ticks && !world.isEnding())
+            {
+                movePaddle();
+                idleSteps += world.advance(ticks - world.getTick());
+                updateRemoved();
+            }
+        }
+
+        /**
+         * Moves paddle towards the lowest ball, when a ball may be in its reach.
+         * Last step is moved separately, so paddle velocity is of a single step.
+         */
+        private void movePaddle()
+        {
+            Balls balls = world.getBalls();
+
+            if(world.getFreeSteps(1) > 0 || balls.getSize() == 0)
+            {
+                return;
+            }
+
+            int lowest = 0;
+
+            for(int i = 1; i < balls.getSize(); i++)
+            {
+                if(balls.getY(i) < balls.getY(lowest))
+                {
+                    lowest = i;
+                }
+            }
+
+            float distance = clamp(balls.getX(lowest) + balls.getWidth() / 2 - world.getPaddle().getCenter(), paddleSpeed * idleSteps);
+            float last = clamp(distance, paddleSpeed);
+
+            if(distance != last)
+            {
+                world.move(distance - last);
+            }
+
+            world.move(last);
+            idleSteps = 0;
+        }
+
+        private float clamp(float value, float limit)
+        {
+            return Math.max(-limit, Math.min(limit, value));
+        }
+
+        /**
+         * Adds bricks removed since the last call, as tick and cell.
+         */
+        private void updateRemoved()
+        {
+            BrickGrid wall = world.getWall();
+
+            for(int word = 0; word < occupancy.length; word++)
+            {
+                long cleared = occupancy[word] & ~wall.getOccupancy(word);
+
+                for(int bit = 0; bit < 64; bit++)
+                {
+                    if((cleared & (1L << bit)) != 0)
+                    {
+                        removed.add(((long) world.getTick() << 32) | (word * 64 + bit));
+                    }
+                }
+
+                occupancy[word] = wall.getOccupancy(word);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Rewinds a recorded game, plays on from the rewound state, and replays its input log.
+ */
+public class RewindTest
+{
+    private final float paddleSpeed = 3; // maximum paddle move in a step
+
+    @Test
+    public void replayOfRewoundGameMatches()
+    {
+        WorldConfig config = new WorldConfig();
+        config.multiBall = true;
+        World world = new World(config, SoundListener.SILENT);
+        InputLog log = new InputLog(config, 60, 64 * 1024);
+        world.setInputLog(log);
+        world.setRewind(new Rewind(32 * 1024, 300, 30));
+
+        play(world, 900);
+        int tick = world.getTick() - 120;
+        assertTrue(world.rewind(tick));
+        assertTrue(world.getTick() <= tick);
+        world.resume();
+        play(world, 900);
+
+        Replay replay = new Replay(log, SoundListener.SILENT);
+        replay.play();
+        assertArrayEquals(TestWorld.getState(world), TestWorld.getState(replay.getWorld()));
+    }
+
+    /**
+     * Steps world frame by frame, and moves paddle towards the first ball.
+     */
+    private void play(World world, int frames)
+    {
+        float stepTime = 1.0f / world.getConfig().tickRate;
+
+        for(int frame = 0; frame < frames; frame++)
+        {
+            if(world.isResumed() && world.getBalls().getSize() > 0)
+            {
+                float distance = world.getBalls().getX(0) - world.getPaddle().getCenter();
+                world.move(Math.max(-paddleSpeed, Math.min(paddleSpeed, distance)));
+            }
+
+            world.update(stepTime);
+        }
+    }
+}
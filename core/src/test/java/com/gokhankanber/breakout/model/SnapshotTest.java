@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+/**
+ * Writes a snapshot of a running world and restores it, whole, truncated and with corrupt config.
+ */
+public class SnapshotTest
+{
+    private final int headerSize = 5; // magic and version
+    @Test
+    public void restoresStateAndConfig()
+    {
+        World world = createWorld();
+        StateBuffer buffer = new StateBuffer(256);
+        Snapshot.write(world, buffer);
+
+        World restored = Snapshot.restore(buffer, SoundListener.SILENT);
+        assertNotNull(restored);
+        assertEquals(world.getConfig().maxTicks, restored.getConfig().maxTicks);
+        assertArrayEquals(TestWorld.getState(world), TestWorld.getState(restored));
+    }
+
+    @Test
+    public void truncatedSnapshotIsRejected()
+    {
+        StateBuffer snapshot = new StateBuffer(256);
+        Snapshot.write(createWorld(), snapshot);
+
+        for(int length = 0; length < snapshot.getLength(); length++)
+        {
+            StateBuffer buffer = new StateBuffer(256);
+            buffer.put(snapshot.getData(), 0, length);
+
+            try
+            {
+                if(Snapshot.restore(buffer, SoundListener.SILENT) != null)
+                {
+                    fail("Snapshot of " + length + " bytes is restored");
+                }
+            }
+            catch(RuntimeException e)
+            {
+                // Expected, restoring game controller deletes the snapshot.
+            }
+        }
+    }
+
+    @Test
+    public void corruptConfigIsRejected()
+    {
+        WorldConfig[] configs = new WorldConfig[8];
+
+        for(int i = 0; i < configs.length; i++)
+        {
+            configs[i] = new WorldConfig();
+        }
+
+        configs[0].rowBrickCount = 0;
+        configs[1].rowBrickCount = 1 << 20;
+        configs[2].brickRows = 100000;
+        configs[3].tickRate = 0;
+        configs[4].width = Float.NaN;
+        configs[5].height = -1;
+        configs[6].ballSpeed = Float.POSITIVE_INFINITY;
+        configs[7].difficulty = 7;
+
+        StateBuffer snapshot = new StateBuffer(256);
+        World world = createWorld();
+        Snapshot.write(world, snapshot);
+        StateBuffer config = new StateBuffer(32);
+        world.getConfig().save(config);
+        int stateOffset = headerSize + config.getLength();
+
+        for(int i = 0; i < configs.length; i++)
+        {
+            // Header, corrupt config, then world state of the snapshot.
+            StateBuffer buffer = new StateBuffer(256);
+            buffer.put(snapshot.getData(), 0, headerSize);
+            configs[i].save(buffer);
+            buffer.put(snapshot.getData(), stateOffset, snapshot.getLength() - stateOffset);
+
+            try
+            {
+                Snapshot.restore(buffer, SoundListener.SILENT);
+                fail("Corrupt config " + i + " is restored");
+            }
+            catch(IllegalStateException e)
+            {
+                // Expected, restoring game controller deletes the snapshot.
+            }
+        }
+    }
+
+    private World createWorld()
+    {
+        WorldConfig config = new WorldConfig();
+        config.multiBall = true;
+        config.maxTicks = 8;
+        World world = new World(config, SoundListener.SILENT);
+        world.resume();
+
+        for(int i = 0; i < 600; i++)
+        {
+            world.update(1.0f / config.tickRate);
+        }
+
+        world.pause();
+
+        return world;
+    }
+}
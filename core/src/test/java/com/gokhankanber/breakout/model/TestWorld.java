@@ -0,0 +1,40 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.model;
+
+import java.util.Arrays;
+
+/**
+ * Helpers of world tests.
+ */
+public class TestWorld
+{
+    private TestWorld()
+    {
+    }
+
+    /**
+     * Returns bytes written by {@link World#save(StateBuffer)}.
+     */
+    public static byte[] getState(World world)
+    {
+        StateBuffer buffer = new StateBuffer(256);
+        world.save(buffer);
+
+        return Arrays.copyOf(buffer.getData(), buffer.getLength());
+    }
+}
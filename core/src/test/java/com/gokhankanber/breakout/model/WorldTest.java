@@ -0,0 +1,43 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gokhankanber.breakout.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks paddle input of the world.
+ */
+public class WorldTest
+{
+    @Test
+    public void queuedMovesKeepVelocityOfSingleMove()
+    {
+        World world = new World(new WorldConfig(), SoundListener.SILENT);
+        world.resume();
+        float x = world.getPaddle().bounds.x;
+
+        world.queueMove(2, 1);
+        world.queueMove(3, 2);
+        world.queueMove(4, 3);
+        world.update(1.0f / world.getConfig().tickRate);
+
+        assertEquals(x + 9, world.getPaddle().bounds.x, 0.001f);
+        assertEquals(3, world.getPaddle().velocity.x, 0.001f);
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.gokhankanber.breakout.simulator;
+
+import com.gokhankanber.breakout.model.Paddle;
+import com.gokhankanber.breakout.model.SoundListener;
+import com.gokhankanber.breakout.model.World;
+import com.gokhankanber.breakout.model.WorldConfig;
+
+import java.util.Random;
+
+/**
+ * Plays headless games one after another in a single world.
+ * Paddle is only moved when a ball may be in its reach, so free steps are jumped over.
+ */
+public class Game
+{
+    private final IPaddlePolicy policy;
+    private final float paddleSpeed;
+    private final int maxSteps;
+    private final Random random = new Random();
+    private final World world;
+    private int ballsLost;
+
+    /**
+     * @param config is world config of the games.
+     * @param policy moves the paddle.
+     * @param paddleSpeed is maximum paddle move in a step.
+     * @param maxSteps is step limit of a game.
+     */
+    public Game(WorldConfig config, IPaddlePolicy policy, float paddleSpeed, int maxSteps)
+    {
+        this.policy = policy;
+        this.paddleSpeed = paddleSpeed;
+        this.maxSteps = maxSteps;
+        world = new World(config, soundListener);
+    }
+
+    /**
+     * Plays a game and adds its result to statistics.
+     * @param seed of the random generator of the game.
+     * @param statistics to add result.
+     */
+    public void play(long seed, Statistics statistics)
+    {
+        random.setSeed(seed);
+        world.newGame();
+        world.resume();
+        ballsLost = 0;
+
+        int steps = 0;
+        int idleSteps = 1;
+
+        while(!world.isEnding() && steps < maxSteps)
+        {
+            if(world.getFreeSteps(1) == 0)
+            {
+                movePaddle(idleSteps);
+                idleSteps = 0;
+            }
+
+            int advanced = world.advance(maxSteps - steps);
+            steps += advanced;
+            idleSteps += advanced;
+        }
+
+        statistics.games++;
+        statistics.points += world.getPaddle().points;
+        statistics.steps += steps;
+        statistics.ballsLost += ballsLost;
+
+        if(world.getRound() > 0)
+        {
+            statistics.secondRounds++;
+        }
+
+        if(world.isEnding() && !world.isGameOver())
+        {
+            statistics.wins++;
+        }
+
+        if(!world.isEnding())
+        {
+            statistics.timeouts++;
+        }
+    }
+
+    /**
+     * Moves paddle towards target of the policy as far as it could move in idle steps.
+     * Last step is moved separately, so paddle velocity is of a single step.
+     */
+    private void movePaddle(int idleSteps)
+    {
+        Paddle paddle = world.getPaddle();
+        float distance = clamp(policy.getTarget(world, random, idleSteps) - paddle.getCenter(), paddleSpeed * idleSteps);
+        float last = clamp(distance, paddleSpeed);
+
+        if(distance != last)
+        {
+            paddle.move(distance - last);
+        }
+
+        paddle.move(last);
+    }
+
+    private float clamp(float value, float limit)
+    {
+        return Math.max(-limit, Math.min(limit, value));
+    }
+
+    // Counts lost balls.
+    private SoundListener soundListener = new SoundListener()
+    {
+        @Override
+        public void playBrickSound(int index)
+        {
+        }
+
+        @Override
+        public void playPaddleSound()
+        {
+        }
+
+        @Override
+        public void playTopBorderSound()
+        {
+        }
+
+        @Override
+        public void playSideBorderSound()
+        {
+        }
+
+        @Override
+        public void playBallOutSound()
+        {
+            ballsLost++;
+        }
+    };
+}
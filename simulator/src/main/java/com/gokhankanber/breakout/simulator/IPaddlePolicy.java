@@ -0,0 +1,34 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.gokhankanber.breakout.simulator;
+
+import com.gokhankanber.breakout.model.World;
+
+import java.util.Random;
+
+/**
+ * Paddle player of a simulated game.
+ */
+public interface IPaddlePolicy
+{
+    /**
+     * Returns x coordinate where paddle center should go.
+     * @param world is the simulated world.
+     * @param random is random generator of the game.
+     * @param steps is number of steps since the last call.
+     */
+    float getTarget(World world, Random random, int steps);
+}
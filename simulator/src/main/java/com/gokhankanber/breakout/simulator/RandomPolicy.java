@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.gokhankanber.breakout.simulator;
+
+import com.gokhankanber.breakout.model.World;
+
+import java.util.Random;
+
+/**
+ * Paddle which follows the lowest ball with a random aiming error.
+ * Error is picked again when balls come back into reach of the paddle.
+ */
+public class RandomPolicy extends TrackingPolicy
+{
+    private final float error;
+    private float offset;
+
+    /**
+     * @param error is standard deviation of aiming error in paddle widths.
+     */
+    public RandomPolicy(float error)
+    {
+        this.error = error;
+    }
+
+    @Override
+    public float getTarget(World world, Random random, int steps)
+    {
+        if(steps > 1)
+        {
+            offset = (float) random.nextGaussian() * error * world.getPaddle().getWidth();
+        }
+
+        return super.getTarget(world, random, steps) + offset;
+    }
+}
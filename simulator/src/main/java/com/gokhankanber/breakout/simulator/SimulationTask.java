@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.gokhankanber.breakout.simulator;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays a range of games of a difficulty.
+ * Splits the range in halves down to a batch, which is played in a single world.
+ */
+public class SimulationTask extends RecursiveTask<Statistics>
+{
+    private final Simulator simulator;
+    private final int difficulty;
+    private final int from;
+    private final int to;
+
+    /**
+     * @param simulator creates games.
+     * @param difficulty is 0 (easy), 1 (normal) or 2 (hard).
+     * @param from is index of the first game.
+     * @param to is index after the last game.
+     */
+    public SimulationTask(Simulator simulator, int difficulty, int from, int to)
+    {
+        this.simulator = simulator;
+        this.difficulty = difficulty;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected Statistics compute()
+    {
+        if(to - from <= simulator.getBatchSize())
+        {
+            Statistics statistics = new Statistics();
+            Game game = simulator.createGame(difficulty);
+
+            for(int i = from; i < to; i++)
+            {
+                game.play(simulator.getSeed(difficulty, i), statistics);
+            }
+
+            return statistics;
+        }
+
+        int middle = (from + to) >>> 1;
+        SimulationTask left = new SimulationTask(simulator, difficulty, from, middle);
+        left.fork();
+
+        Statistics statistics = new SimulationTask(simulator, difficulty, middle, to).compute();
+        statistics.add(left.join());
+
+        return statistics;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.gokhankanber.breakout.simulator;
+
+import com.gokhankanber.breakout.model.WorldConfig;
+
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Monte Carlo simulator for difficulty balancing.
+ * Plays independent games of each difficulty in parallel on a fork-join pool, and prints their statistics.
+ * Usage: Simulator [games=100000] [policy=tracking|random] [error=0.25] [speed=3] [seed=1] [parallelism=cores] [multiBall=false]
+ */
+public class Simulator
+{
+    private final int batchSize = 64;
+    private final int maxMinutes = 30;
+    private final int difficulties = 3;
+    private int games = 100000;
+    private String policy = "tracking";
+    private float error = 0.25f;
+    private float paddleSpeed = 3;
+    private long seed = 1;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private boolean multiBall = false;
+
+    public static void main(String[] args)
+    {
+        Simulator simulator = new Simulator();
+
+        for(String arg : args)
+        {
+            simulator.set(arg);
+        }
+
+        simulator.run();
+    }
+
+    /**
+     * Sets an option.
+     * @param option is name=value.
+     */
+    public void set(String option)
+    {
+        int separator = option.indexOf('=');
+
+        if(separator < 0)
+        {
+            throw new IllegalArgumentException("Option is not name=value: " + option);
+        }
+
+        String name = option.substring(0, separator);
+        String value = option.substring(separator + 1);
+
+        switch(name)
+        {
+            case "games":
+                games = Integer.parseInt(value);
+                break;
+            case "policy":
+                policy = value;
+                createPolicy();
+                break;
+            case "error":
+                error = Float.parseFloat(value);
+                break;
+            case "speed":
+                paddleSpeed = Float.parseFloat(value);
+                break;
+            case "seed":
+                seed = Long.parseLong(value);
+                break;
+            case "parallelism":
+                parallelism = Integer.parseInt(value);
+                break;
+            case "multiBall":
+                multiBall = Boolean.parseBoolean(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown option: " + name);
+        }
+    }
+
+    /**
+     * Plays games of each difficulty and prints their statistics.
+     */
+    public void run()
+    {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        System.out.println(String.format(Locale.US, "%d games per difficulty, %s paddle, %d threads", games, policy, parallelism));
+        System.out.println("difficulty    points   seconds  ballsLost  round2     wins  timeouts   games/s");
+
+        try
+        {
+            for(int difficulty = 0; difficulty < difficulties; difficulty++)
+            {
+                long start = System.nanoTime();
+                Statistics statistics = pool.invoke(new SimulationTask(this, difficulty, 0, games));
+                double seconds = (System.nanoTime() - start) / 1e9;
+
+                System.out.println(String.format(Locale.US, "%10d %9.1f %9.1f %10.2f %7.1f%% %7.1f%% %9d %9.0f",
+                        difficulty,
+                        statistics.getMeanPoints(),
+                        statistics.getMeanSteps() / new WorldConfig().tickRate,
+                        statistics.getMeanBallsLost(),
+                        statistics.getSecondRoundRate() * 100,
+                        statistics.getWinRate() * 100,
+                        statistics.timeouts,
+                        statistics.games / seconds));
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Creates a game of the difficulty with its own world and paddle policy.
+     */
+    public Game createGame(int difficulty)
+    {
+        WorldConfig config = new WorldConfig();
+        config.difficulty = difficulty;
+        config.multiBall = multiBall;
+
+        return new Game(config, createPolicy(), paddleSpeed, maxMinutes * 60 * config.tickRate);
+    }
+
+    /**
+     * Returns random seed of a game, so results do not depend on scheduling of tasks.
+     */
+    public long getSeed(int difficulty, int game)
+    {
+        return ((seed * difficulties + difficulty) << 32) + game;
+    }
+
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+
+    private IPaddlePolicy createPolicy()
+    {
+        switch(policy)
+        {
+            case "tracking":
+                return new TrackingPolicy();
+            case "random":
+                return new RandomPolicy(error);
+            default:
+                throw new IllegalArgumentException("Unknown policy: " + policy);
+        }
+    }
+}
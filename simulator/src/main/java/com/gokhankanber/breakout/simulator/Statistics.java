@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.gokhankanber.breakout.simulator;
+
+/**
+ * Totals of simulated games, which are added up across tasks.
+ */
+public class Statistics
+{
+    public int games;
+    public long points;
+    public long steps;
+    public long ballsLost;
+    public int secondRounds;
+    public int wins;
+    public int timeouts;
+
+    public void add(Statistics statistics)
+    {
+        games += statistics.games;
+        points += statistics.points;
+        steps += statistics.steps;
+        ballsLost += statistics.ballsLost;
+        secondRounds += statistics.secondRounds;
+        wins += statistics.wins;
+        timeouts += statistics.timeouts;
+    }
+
+    public double getMeanPoints()
+    {
+        return (double) points / games;
+    }
+
+    public double getMeanSteps()
+    {
+        return (double) steps / games;
+    }
+
+    public double getMeanBallsLost()
+    {
+        return (double) ballsLost / games;
+    }
+
+    public double getSecondRoundRate()
+    {
+        return (double) secondRounds / games;
+    }
+
+    public double getWinRate()
+    {
+        return (double) wins / games;
+    }
+}
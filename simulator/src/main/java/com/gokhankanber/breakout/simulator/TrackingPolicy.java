@@ -0,0 +1,44 @@
+/*
+ * Copyright 2018 Gökhan Kanber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.gokhankanber.breakout.simulator;
+
+import com.gokhankanber.breakout.model.Balls;
+import com.gokhankanber.breakout.model.World;
+
+import java.util.Random;
+
+/**
+ * Scripted paddle which follows the lowest ball.
+ */
+public class TrackingPolicy implements IPaddlePolicy
+{
+    @Override
+    public float getTarget(World world, Random random, int steps)
+    {
+        Balls balls = world.getBalls();
+        int lowest = 0;
+
+        for(int i = 1; i < balls.getSize(); i++)
+        {
+            if(balls.getY(i) < balls.getY(lowest))
+            {
+                lowest = i;
+            }
+        }
+
+        return balls.getX(lowest) + balls.getWidth() / 2;
+    }
+}